@@ -0,0 +1,232 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import java.util.Arrays;
+
+/**
+ * The {@code Absurdle} class is the adversary of games that never commit to an answer, where every guess splits the
+ * candidates left by the pattern they would show and only the largest bucket is kept.
+ *
+ * <p>
+ * Candidates are packed into one byte array with one symbol per letter, where A to Z keep the codes 0 to 25 and every
+ * other letter (e.g. accented letters) gets a code from 26 on. Each guess is partitioned in two passes without any
+ * per-word object: the first pass scores every candidate left into a base-3 pattern code and counts the bucket sizes,
+ * and the second pass compacts the candidates of the bucket kept to the front, like the scatter of a counting sort.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class Absurdle {
+    /**
+     * A static constant holding the maximum number of distinct symbols, so that any set of symbols fits in a long.
+     */
+    private static final int MAX_SYMBOLS = 64;
+
+    /**
+     * An int holding the length of every candidate.
+     */
+    private final int wordLength;
+
+    /**
+     * A String array holding every candidate given, indexed by candidate.
+     */
+    private final String[] words;
+
+    /**
+     * A byte array holding the symbol of each letter of each candidate, candidate after candidate.
+     */
+    private final byte[] symbols;
+
+    /**
+     * An int array holding the candidates left in its first <var>remaining</var> positions.
+     */
+    private final int[] alive;
+
+    /**
+     * An int holding the number of candidates left.
+     */
+    private int remaining;
+
+    /**
+     * An int array holding the pattern code of each candidate left in the last partition.
+     */
+    private final int[] patterns;
+
+    /**
+     * An int array holding the size of the bucket of each pattern code in the last partition.
+     */
+    private final int[] bucketSizes;
+
+    /**
+     * The only constructor for class {@code Absurdle}.
+     *
+     * @param words a non-empty String array holding the distinct uppercase candidates, all of the same length, in the
+     *              order that decides the answer shown when the game ends.
+     */
+    public Absurdle(String[] words) {
+        this.words = words.clone();
+        this.wordLength = words[0].length();
+        this.symbols = pack(words);
+        this.alive = new int[words.length];
+        for (int word = 0; word < words.length; word++)
+            alive[word] = word;
+        this.remaining = words.length;
+        this.patterns = new int[words.length];
+        int patternCount = 1;
+        for (int i = 0; i < wordLength; i++)
+            patternCount *= 3;
+        this.bucketSizes = new int[patternCount];
+    }
+
+    /**
+     * This static method packs the words given into one byte array with one symbol per letter, where A to Z keep the
+     * codes 0 to 25 and every other letter gets a code from 26 on, in the order first met.
+     *
+     * @param words a non-empty String array holding uppercase words, all of the same length.
+     * @return a byte array holding the symbol of each letter of each word, word after word.
+     * @throws IllegalArgumentException if there are more than {@link Absurdle#MAX_SYMBOLS} distinct letters.
+     */
+    static byte[] pack(String[] words) {
+        int wordLength = words[0].length();
+        byte[] symbols = new byte[words.length * wordLength];
+        char[] extraLetters = new char[MAX_SYMBOLS - 26];
+        int extraCount = 0;
+        for (int word = 0; word < words.length; word++)
+            for (int i = 0; i < wordLength; i++) {
+                char letter = words[word].charAt(i);
+                int symbol;
+                if ('A' <= letter && letter <= 'Z')
+                    symbol = letter - 'A';
+                else {
+                    int extra = 0;
+                    while (extra < extraCount && extraLetters[extra] != letter)
+                        extra++;
+                    if (extra == extraCount) {
+                        if (extraCount == extraLetters.length)
+                            throw new IllegalArgumentException("Too many distinct letters");
+                        extraLetters[extraCount++] = letter;
+                    }
+                    symbol = 26 + extra;
+                }
+                symbols[word * wordLength + i] = (byte) symbol;
+            }
+        return symbols;
+    }
+
+    /**
+     * This method scores <var>guess</var> against every candidate left, keeps the largest bucket and writes its
+     * pattern into <var>scores</var>, with the same rules of {@link GameRound#score(String, String)}.
+     *
+     * <p>
+     * Ties are broken by the bucket revealing the least (the lowest sum of scores, then the lowest code), so that a
+     * game is replayed identically from its keys.
+     *
+     * @param guess  a char array holding the uppercase letters guessed, with the length of the candidates.
+     * @param scores an int array receiving the score of each position.
+     * @return an int describing the number of green letters, which equals to the word length only if the guess is the
+     * last candidate left.
+     */
+    public int guess(char[] guess, int[] scores) {
+        Arrays.fill(bucketSizes, 0);
+        // First pass: pattern code of every candidate left and the size of every bucket.
+        for (int k = 0; k < remaining; k++) {
+            int offset = alive[k] * wordLength;
+            int greenMask = 0;
+            long remainingMask = 0;
+            for (int i = 0; i < wordLength; i++) {
+                int symbol = symbols[offset + i];
+                if (guess[i] - 'A' == symbol)
+                    greenMask |= 1 << i;
+                else
+                    remainingMask |= 1L << symbol;
+            }
+            int code = 0;
+            for (int i = wordLength - 1; i >= 0; i--) {
+                int letter = guess[i] - 'A';
+                code *= 3;
+                if ((greenMask & 1 << i) != 0)
+                    code += 2;
+                else if (0 <= letter && letter < 26 && (remainingMask & 1L << letter) != 0)
+                    code += 1;
+            }
+            patterns[k] = code;
+            bucketSizes[code]++;
+        }
+        // Keep the largest bucket.
+        int best = -1;
+        int bestSum = Integer.MAX_VALUE;
+        for (int code = 0; code < bucketSizes.length; code++) {
+            if (bucketSizes[code] == 0 || best >= 0 && bucketSizes[code] < bucketSizes[best])
+                continue;
+            int sum = decode(code, scores);
+            if (best < 0 || bucketSizes[code] > bucketSizes[best] || sum < bestSum) {
+                best = code;
+                bestSum = sum;
+            }
+        }
+        // Second pass: compact the candidates of the bucket kept, in their original order.
+        int kept = 0;
+        for (int k = 0; k < remaining; k++)
+            if (patterns[k] == best)
+                alive[kept++] = alive[k];
+        remaining = kept;
+        decode(best, scores);
+        int greens = 0;
+        for (int score : scores)
+            if (score == 2)
+                greens++;
+        return greens;
+    }
+
+    /**
+     * This static method writes the score of each position of a pattern code into <var>scores</var>.
+     *
+     * @param code   an int describing the base-3 pattern, where the lowest digit is the first position.
+     * @param scores an int array receiving the score of each position.
+     * @return an int describing the sum of the scores.
+     */
+    private static int decode(int code, int[] scores) {
+        int sum = 0;
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = code % 3;
+            sum += scores[i];
+            code /= 3;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the first candidate left, which is the answer shown when the game ends.
+     *
+     * @return an uppercase String.
+     */
+    public String getAnswer() {
+        return words[alive[0]];
+    }
+
+    /**
+     * Returns the number of candidates left.
+     *
+     * @return an int describing the size of the bucket kept by the last guess.
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+}
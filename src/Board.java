@@ -0,0 +1,353 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.awt.*;
+import java.util.Arrays;
+import javax.swing.*;
+
+/**
+ * The {@code Board} class paints the grid of guessed letters of a game as one lightweight component, replacing one
+ * {@code JTextField} per cell.
+ *
+ * <p>
+ * The grid is kept in two compact arrays holding the letter and the state of each cell, where fonts and colors are
+ * shared constants. Every update repaints only the row it touches, and the same instance is reused across games
+ * through {@link Board#reset(int, int, int)}.
+ *
+ * <p>
+ * In multi-board games the component holds several grids of the same dimension laid out in up to four columns, where
+ * a letter typed is shown on every grid not solved yet and all the grids are painted in the same pass.
+ *
+ * <p>
+ * Keystrokes that change the board are marked through {@link Board#markInput(long)}, and the time from each one being
+ * fired to the end of the next paint is recorded as the input latency.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class Board extends JComponent {
+    /**
+     * A static constant holding the serialization version of the component.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A static constant holding the state of a cell that is typed but not confirmed yet (or empty).
+     */
+    public static final byte TYPED = -1;
+
+    /**
+     * A static constant holding the state of a cell whose letter is not in the word.
+     */
+    public static final byte GREY = 0;
+
+    /**
+     * A static constant holding the state of a cell whose letter is in the word but in the wrong position.
+     */
+    public static final byte YELLOW = 1;
+
+    /**
+     * A static constant holding the state of a cell whose letter is in the word and in the right position.
+     */
+    public static final byte GREEN = 2;
+
+    /**
+     * A static constant holding the size ratio of cell size to cell interval size.
+     */
+    private static final int SIZE_RATIO = 8;
+
+    /**
+     * A static constant holding the font of the letters, which is the largest font used.
+     */
+    private static final Font LETTER_FONT = new Font("", Font.BOLD, 30);
+
+    /**
+     * A static constant holding the maximum number of grids in one line.
+     */
+    private static final int MAX_BOARD_COLUMNS = 4;
+
+    /**
+     * A static constant holding the background colors indexed by state plus one.
+     */
+    private static final Color[] BACKGROUNDS = new Color[]{Color.WHITE, new Color(121, 124, 126),
+            new Color(198, 180, 102), new Color(121, 167, 107)};
+
+    /**
+     * An int holding the number of grids.
+     */
+    private int boards;
+
+    /**
+     * An int holding the number of grids in one line.
+     */
+    private int boardColumns;
+
+    /**
+     * A boolean array holding whether each grid is solved and no longer receives letters typed.
+     */
+    private boolean[] closed = new boolean[0];
+
+    /**
+     * An int holding the number of rows of each grid.
+     */
+    private int rows;
+
+    /**
+     * An int holding the number of columns, which equals to the word length.
+     */
+    private int columns;
+
+    /**
+     * A char array holding the letter of each cell by grid, row and then column, where 0 is for an empty cell.
+     */
+    private char[] letters = new char[0];
+
+    /**
+     * A byte array holding the state of each cell by grid, row and then column.
+     */
+    private byte[] states = new byte[0];
+
+    /**
+     * A {@code Font} holding the letter font scaled to the current cell size, see {@link Board#getLetterFont(int)}.
+     */
+    private Font letterFont = LETTER_FONT;
+
+    /**
+     * A long array holding the {@link System#nanoTime()} at which each keystroke not painted yet was fired.
+     */
+    private long[] pendingInputs = new long[8];
+
+    /**
+     * An int holding the number of keystrokes in {@link Board#pendingInputs}.
+     */
+    private int pendingInputCount;
+
+    /**
+     * A {@code Metrics.Histogram} holding the input latency of the current game, or null if it is not kept.
+     */
+    private transient Metrics.Histogram gameInputLatency;
+
+    /**
+     * This method clears the board and changes its dimension to a single grid.
+     *
+     * @param rows    an int describing the number of rows.
+     * @param columns an int describing the number of columns.
+     */
+    public void reset(int rows, int columns) {
+        reset(1, rows, columns);
+    }
+
+    /**
+     * This method clears the board and changes its dimension, reusing the arrays if they are large enough.
+     *
+     * @param boards  an int describing the number of grids.
+     * @param rows    an int describing the number of rows of each grid.
+     * @param columns an int describing the number of columns of each grid.
+     */
+    public void reset(int boards, int rows, int columns) {
+        this.boards = boards;
+        this.boardColumns = Math.min(boards, MAX_BOARD_COLUMNS);
+        this.rows = rows;
+        this.columns = columns;
+        if (letters.length < boards * rows * columns) {
+            letters = new char[boards * rows * columns];
+            states = new byte[boards * rows * columns];
+        }
+        if (closed.length < boards)
+            closed = new boolean[boards];
+        Arrays.fill(letters, (char) 0);
+        Arrays.fill(states, TYPED);
+        Arrays.fill(closed, false);
+        // Keystrokes of the previous game may never be painted, as its window is hidden right after them.
+        pendingInputCount = 0;
+        repaint();
+    }
+
+    /**
+     * This method marks a keystroke that changed the board, whose latency is recorded once the board is painted next.
+     *
+     * @param firedNanos a long describing when the keystroke was fired, in terms of {@link System#nanoTime()}.
+     */
+    public void markInput(long firedNanos) {
+        if (pendingInputCount == pendingInputs.length)
+            pendingInputs = Arrays.copyOf(pendingInputs, pendingInputCount * 2);
+        pendingInputs[pendingInputCount++] = firedNanos;
+    }
+
+    /**
+     * This method sets the histogram that the input latency of the current game is also recorded into.
+     *
+     * @param gameInputLatency a {@code Metrics.Histogram}, or null if only the metric {@code input.latency} is kept.
+     */
+    public void setGameInputLatency(Metrics.Histogram gameInputLatency) {
+        this.gameInputLatency = gameInputLatency;
+    }
+
+    /**
+     * This method sets the letter of a cell on every grid not solved yet and marks it as typed, repainting its row.
+     *
+     * @param row    an int describing the row of the cell.
+     * @param column an int describing the column of the cell.
+     * @param letter a char describing the letter, where 0 clears the cell.
+     */
+    public void setLetter(int row, int column, char letter) {
+        for (int board = 0; board < boards; board++) {
+            if (closed[board])
+                continue;
+            int index = (board * rows + row) * columns + column;
+            letters[index] = letter;
+            states[index] = TYPED;
+        }
+        repaintRow(row);
+    }
+
+    /**
+     * This method sets the score of each cell of a row of the first grid and repaints it once.
+     *
+     * @param row    an int describing the row.
+     * @param scores an int array holding the score of each column, where 0 is for grey, 1 is for yellow, 2 is for
+     *               green.
+     */
+    public void setScores(int row, int[] scores) {
+        setScores(0, row, scores);
+    }
+
+    /**
+     * This method sets the score of each cell of a row of the grid given and repaints it once.
+     *
+     * @param board  an int describing the grid counting from zero.
+     * @param row    an int describing the row.
+     * @param scores an int array holding the score of each column, where 0 is for grey, 1 is for yellow, 2 is for
+     *               green.
+     */
+    public void setScores(int board, int row, int[] scores) {
+        int offset = (board * rows + row) * columns;
+        for (int column = 0; column < columns; column++)
+            states[offset + column] = (byte) scores[column];
+        repaintRow(row);
+    }
+
+    /**
+     * This method marks the grid given as solved, so that its remaining rows stay empty.
+     *
+     * @param board an int describing the grid counting from zero.
+     */
+    public void closeBoard(int board) {
+        closed[board] = true;
+    }
+
+    /**
+     * Returns the interval size between two cells, where the cell size is {@link Board#SIZE_RATIO} times of it and
+     * two adjacent grids are one cell apart, so that every grid fits in the component.
+     *
+     * @return a double describing the interval size.
+     */
+    private double getMarginSize() {
+        int boardRows = (boards + boardColumns - 1) / boardColumns;
+        int widthUnits = boardColumns * ((SIZE_RATIO + 1) * columns - 1) + (boardColumns - 1) * (SIZE_RATIO + 1);
+        int heightUnits = boardRows * ((SIZE_RATIO + 1) * rows - 1) + (boardRows - 1) * (SIZE_RATIO + 1);
+        return Math.min(1.0 * getWidth() / widthUnits, 1.0 * getHeight() / heightUnits);
+    }
+
+    /**
+     * Returns the letter font fitting cells of the size given, which is derived again only when the size changes.
+     *
+     * @param blockSize an int describing the cell size.
+     * @return a {@code Font} no larger than {@link Board#LETTER_FONT}.
+     */
+    private Font getLetterFont(int blockSize) {
+        float size = Math.min(LETTER_FONT.getSize2D(), blockSize * 0.6f);
+        if (letterFont.getSize2D() != size)
+            letterFont = LETTER_FONT.deriveFont(size);
+        return letterFont;
+    }
+
+    /**
+     * This method repaints the area of one row only, on every line of grids.
+     *
+     * @param row an int describing the row to be repainted.
+     */
+    private void repaintRow(int row) {
+        double marginSize = getMarginSize();
+        double boardHeight = (rows + 1) * marginSize * (SIZE_RATIO + 1);
+        for (int boardRow = 0; boardRow * boardColumns < boards; boardRow++) {
+            int y = (int) (boardRow * boardHeight + row * marginSize * (SIZE_RATIO + 1));
+            repaint(0, y, getWidth(), (int) Math.ceil(marginSize * SIZE_RATIO) + 1);
+        }
+    }
+
+    /**
+     * This method paints the cells intersecting the clip area.
+     *
+     * @param graphics a {@code Graphics} to paint with.
+     */
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        if (columns == 0)
+            return;
+        Graphics2D g = (Graphics2D) graphics;
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        final double marginSize = getMarginSize();
+        final int blockSize = (int) (marginSize * SIZE_RATIO);
+        final double pitch = marginSize * (SIZE_RATIO + 1);
+        g.setFont(getLetterFont(blockSize));
+        FontMetrics metrics = g.getFontMetrics();
+        Rectangle clip = g.getClipBounds();
+        for (int board = 0; board < boards; board++) {
+            double boardX = (board % boardColumns) * (columns + 1) * pitch;
+            double boardY = (board / boardColumns) * (rows + 1) * pitch;
+            for (int row = 0; row < rows; row++) {
+                int y = (int) (boardY + row * pitch);
+                if (clip != null && (y > clip.y + clip.height || y + blockSize < clip.y))
+                    continue;
+                for (int column = 0; column < columns; column++) {
+                    int x = (int) (boardX + column * pitch);
+                    int index = (board * rows + row) * columns + column;
+                    g.setColor(BACKGROUNDS[states[index] + 1]);
+                    g.fillRect(x, y, blockSize, blockSize);
+                    if (letters[index] != 0) {
+                        String letter = String.valueOf(letters[index]);
+                        g.setColor(states[index] == TYPED ? Color.BLACK : Color.WHITE);
+                        g.drawString(letter, x + (blockSize - metrics.stringWidth(letter)) / 2,
+                                y + (blockSize - metrics.getHeight()) / 2 + metrics.getAscent());
+                    }
+                }
+            }
+        }
+        recordInputLatency();
+    }
+
+    /**
+     * This method records the latency of every keystroke marked since the last paint, from when it was fired to now.
+     */
+    private void recordInputLatency() {
+        if (pendingInputCount == 0)
+            return;
+        long now = System.nanoTime();
+        Metrics.Histogram inputLatency = Metrics.histogram("input.latency");
+        for (int i = 0; i < pendingInputCount; i++) {
+            inputLatency.record(now - pendingInputs[i]);
+            if (gameInputLatency != null)
+                gameInputLatency.record(now - pendingInputs[i]);
+        }
+        pendingInputCount = 0;
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * The {@code Dawg} class stores the words of one word source and one word length as a minimized directed acyclic word
+ * graph, where the difficulty of each word is kept on its terminal node.
+ *
+ * <p>
+ * The graph is built once with the incremental algorithm for sorted input, where equivalent states (same difficulty
+ * and same outgoing edges) are merged so that shared suffixes are stored only once. After building, the nodes are
+ * flattened into primitive arrays and the intermediate objects become eligible for garbage collection.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class Dawg {
+    /**
+     * A static constant holding the number of nodes visited by a traversal between two cancellation checks.
+     */
+    private static final int CANCEL_CHECK_INTERVAL = 256;
+
+    /**
+     * An int array holding the index of the first outgoing edge of each node, where the edges of node {@code i} are
+     * stored from {@code firstEdge[i]} (inclusive) to {@code firstEdge[i + 1]} (exclusive).
+     */
+    private final int[] firstEdge;
+
+    /**
+     * A char array holding the label of each edge, sorted increasingly for the edges of the same node.
+     */
+    private final char[] edgeLabel;
+
+    /**
+     * An int array holding the target node of each edge.
+     */
+    private final int[] edgeTarget;
+
+    /**
+     * A byte array holding the difficulty of each node, where 0 is for a non-terminal node.
+     */
+    private final byte[] nodeDifficulty;
+
+    /**
+     * An int holding the length of every word stored.
+     */
+    private final int wordLength;
+
+    /**
+     * An int holding the number of words stored.
+     */
+    private final int wordCount;
+
+    /**
+     * The {@code BuildNode} class holds a mutable node used only while building the graph.
+     */
+    private static class BuildNode {
+        /**
+         * A {@code StringBuilder} holding the labels of the outgoing edges in insertion (sorted) order.
+         */
+        final StringBuilder labels = new StringBuilder();
+
+        /**
+         * An {@code ArrayList} holding the children in the same order of <var>labels</var>.
+         */
+        final ArrayList<BuildNode> children = new ArrayList<>();
+
+        /**
+         * An int holding the difficulty of the word ending at this node, or 0 if no word ends here.
+         */
+        int difficulty;
+
+        /**
+         * An int holding the register id of this node, or -1 if it has not been registered.
+         */
+        int id = -1;
+
+        /**
+         * Returns a String identifying the right language of this node, which is valid once all of its children have
+         * been registered.
+         *
+         * @return a String describing the signature of this node.
+         */
+        String signature() {
+            StringBuilder signature = new StringBuilder().append(difficulty);
+            for (int i = 0; i < children.size(); i++)
+                signature.append('|').append(labels.charAt(i)).append(children.get(i).id);
+            return signature.toString();
+        }
+    }
+
+    /**
+     * The only constructor for class {@code Dawg}.
+     *
+     * @param wordLength       an int describing the length of every word in <var>difficultyByWord</var>.
+     * @param difficultyByWord a Map holding the difficulty (from 1 to 127) of each uppercase word.
+     */
+    public Dawg(int wordLength, Map<String, Integer> difficultyByWord) {
+        this.wordLength = wordLength;
+        String[] words = difficultyByWord.keySet().toArray(new String[0]);
+        Arrays.sort(words);
+
+        // Build the minimized graph incrementally from sorted words.
+        HashMap<String, BuildNode> register = new HashMap<>();
+        BuildNode root = new BuildNode();
+        String previousWord = "";
+        for (String word : words) {
+            int prefixLength = 0;
+            while (prefixLength < previousWord.length() && prefixLength < word.length() &&
+                    previousWord.charAt(prefixLength) == word.charAt(prefixLength))
+                prefixLength++;
+            BuildNode lastState = root;
+            for (int i = 0; i < prefixLength; i++)
+                lastState = lastState.children.get(lastState.children.size() - 1);
+            if (!lastState.children.isEmpty())
+                replaceOrRegister(lastState, register);
+            for (int i = prefixLength; i < word.length(); i++) {
+                BuildNode next = new BuildNode();
+                lastState.labels.append(word.charAt(i));
+                lastState.children.add(next);
+                lastState = next;
+            }
+            lastState.difficulty = difficultyByWord.get(word);
+            previousWord = word;
+        }
+        replaceOrRegister(root, register);
+        root.id = register.size();
+        wordCount = words.length;
+
+        // Flatten registered nodes into primitive arrays, where the root is always node 0.
+        BuildNode[] nodes = new BuildNode[register.size() + 1];
+        nodes[0] = root;
+        int edgeCount = root.children.size();
+        for (BuildNode node : register.values()) {
+            nodes[node.id + 1] = node;
+            edgeCount += node.children.size();
+        }
+        firstEdge = new int[nodes.length + 1];
+        edgeLabel = new char[edgeCount];
+        edgeTarget = new int[edgeCount];
+        nodeDifficulty = new byte[nodes.length];
+        int currentEdge = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            firstEdge[i] = currentEdge;
+            nodeDifficulty[i] = (byte) nodes[i].difficulty;
+            for (int j = 0; j < nodes[i].children.size(); j++) {
+                edgeLabel[currentEdge] = nodes[i].labels.charAt(j);
+                edgeTarget[currentEdge] = nodes[i].children.get(j).id + 1;
+                currentEdge++;
+            }
+        }
+        firstEdge[nodes.length] = currentEdge;
+    }
+
+    /**
+     * This method registers the last child of <var>state</var> (and its last descendants recursively), replacing it
+     * by an equivalent node if one has already been registered.
+     *
+     * @param state    a {@code BuildNode} whose last child is complete.
+     * @param register a HashMap holding registered nodes by their signature.
+     */
+    private static void replaceOrRegister(BuildNode state, HashMap<String, BuildNode> register) {
+        int lastIndex = state.children.size() - 1;
+        BuildNode child = state.children.get(lastIndex);
+        if (child.id >= 0)
+            return;
+        if (!child.children.isEmpty())
+            replaceOrRegister(child, register);
+        String signature = child.signature();
+        BuildNode equivalent = register.get(signature);
+        if (equivalent != null)
+            state.children.set(lastIndex, equivalent);
+        else {
+            child.id = register.size();
+            register.put(signature, child);
+        }
+    }
+
+    /**
+     * Returns the target node of the edge labelled <var>ch</var> of <var>node</var>.
+     *
+     * @param node an int describing the source node.
+     * @param ch   a char describing the edge label.
+     * @return the target node, or -1 if no such edge exists.
+     */
+    private int step(int node, char ch) {
+        int low = firstEdge[node];
+        int high = firstEdge[node + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char label = edgeLabel[middle];
+            if (label < ch)
+                low = middle + 1;
+            else if (label > ch)
+                high = middle - 1;
+            else
+                return edgeTarget[middle];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the difficulty of the word given.
+     *
+     * @param word an uppercase String to be looked up.
+     * @return the difficulty of <var>word</var>, or 0 if it is not stored.
+     */
+    public int difficultyOf(String word) {
+        if (word.length() != wordLength)
+            return 0;
+        int node = 0;
+        for (int i = 0; i < word.length() && node >= 0; i++)
+            node = step(node, word.charAt(i));
+        return node < 0 ? 0 : nodeDifficulty[node];
+    }
+
+    /**
+     * Returns the number of words stored.
+     *
+     * @return an int describing the number of words stored.
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the number of nodes after minimization.
+     *
+     * @return an int describing the number of nodes.
+     */
+    public int nodeCount() {
+        return nodeDifficulty.length;
+    }
+
+    /**
+     * This method traverses the graph depth-first and passes every word matching the helper query to <var>sink</var>
+     * in alphabetical order, with the same semantics of {@link HelperQuery#matches(String)}.
+     *
+     * <p>
+     * Branches are pruned as soon as a fixed letter is missing, a letter excluded at its position is met, a letter is
+     * met more times than its exact occurrence, or the remaining {@code *} positions are too few to fill the letters
+     * still required.
+     *
+     * <p>
+     * <var>isCancelled</var> is checked every {@link Dawg#CANCEL_CHECK_INTERVAL} nodes visited, so that a selective
+     * query matching few words can still be abandoned in the middle of a large graph.
+     *
+     * @param query         a valid {@code HelperQuery} whose pattern has the length of the words stored.
+     * @param maxDifficulty an int describing the maximum difficulty of the words returned.
+     * @param sink          a {@code Consumer<String>} receiving the words matched.
+     * @param isCancelled   a {@code BooleanSupplier} telling whether the traversal should be abandoned.
+     * @throws CancellationException if <var>isCancelled</var> returns true.
+     */
+    public void match(HelperQuery query, int maxDifficulty, Consumer<String> sink, BooleanSupplier isCancelled) {
+        String pattern = query.getPattern();
+        if (pattern.length() != wordLength)
+            return;
+        int[] remaining = query.getRequiredCounts();
+        int totalRemaining = 0;
+        for (int count : remaining)
+            totalRemaining += count;
+        int[] unknownAfter = new int[wordLength + 1];
+        for (int i = wordLength - 1; i >= 0; i--)
+            unknownAfter[i] = unknownAfter[i + 1] + (pattern.charAt(i) == '*' ? 1 : 0);
+        match(0, 0, new char[wordLength], query, remaining, totalRemaining, unknownAfter,
+                new int[query.getLetterCount()], maxDifficulty, sink, new int[1], isCancelled);
+    }
+
+    /**
+     * This method is the recursive step of {@link Dawg#match(HelperQuery, int, Consumer, BooleanSupplier)}, where
+     * <var>visited</var> holds the number of nodes visited so far.
+     */
+    private void match(int node, int depth, char[] prefix, HelperQuery query, int[] remaining, int totalRemaining,
+                       int[] unknownAfter, int[] letterCount, int maxDifficulty, Consumer<String> sink,
+                       int[] visited, BooleanSupplier isCancelled) {
+        if (++visited[0] % CANCEL_CHECK_INTERVAL == 0 && isCancelled.getAsBoolean())
+            throw new CancellationException();
+        if (totalRemaining > unknownAfter[depth])
+            return;
+        if (depth == wordLength) {
+            int difficulty = nodeDifficulty[node];
+            if (difficulty > 0 && difficulty <= maxDifficulty && query.isExactSatisfied(letterCount))
+                sink.accept(new String(prefix));
+            return;
+        }
+        char fixed = query.getPattern().charAt(depth);
+        if (fixed != '*') {
+            int next = step(node, fixed);
+            if (next < 0 || query.isExcluded(depth, fixed))
+                return;
+            if (countLetter(query, fixed, letterCount)) {
+                prefix[depth] = fixed;
+                match(next, depth + 1, prefix, query, remaining, totalRemaining, unknownAfter, letterCount,
+                        maxDifficulty, sink, visited, isCancelled);
+            }
+            uncountLetter(query, fixed, letterCount);
+            return;
+        }
+        for (int edge = firstEdge[node]; edge < firstEdge[node + 1]; edge++) {
+            char ch = edgeLabel[edge];
+            if (query.isExcluded(depth, ch))
+                continue;
+            int required = query.indexOfRequired(ch);
+            if (required >= 0 && remaining[required] == 0)
+                required = -1;
+            if (required < 0 && !query.isMatchAll())
+                continue;
+            if (countLetter(query, ch, letterCount)) {
+                prefix[depth] = ch;
+                if (required >= 0) {
+                    remaining[required]--;
+                    match(edgeTarget[edge], depth + 1, prefix, query, remaining, totalRemaining - 1, unknownAfter,
+                            letterCount, maxDifficulty, sink, visited, isCancelled);
+                    remaining[required]++;
+                } else
+                    match(edgeTarget[edge], depth + 1, prefix, query, remaining, totalRemaining, unknownAfter,
+                            letterCount, maxDifficulty, sink, visited, isCancelled);
+            }
+            uncountLetter(query, ch, letterCount);
+        }
+    }
+
+    /**
+     * This static method counts one more occurrence of the letter given if it has an exact occurrence.
+     *
+     * @param query       a valid {@code HelperQuery}.
+     * @param ch          a char describing the letter met.
+     * @param letterCount an int array holding the occurrence of each letter by bit of <var>query</var>.
+     * @return false if the letter now occurs more times than its exact occurrence.
+     */
+    private static boolean countLetter(HelperQuery query, char ch, int[] letterCount) {
+        int bit = query.bitOf(ch);
+        return bit < 0 || query.getExactCount(bit) < 0 || ++letterCount[bit] <= query.getExactCount(bit);
+    }
+
+    /**
+     * This static method undoes {@link Dawg#countLetter(HelperQuery, char, int[])}, which must be called once after
+     * it whatever it returned.
+     *
+     * @param query       a valid {@code HelperQuery}.
+     * @param ch          a char describing the letter met.
+     * @param letterCount an int array holding the occurrence of each letter by bit of <var>query</var>.
+     */
+    private static void uncountLetter(HelperQuery query, char ch, int[] letterCount) {
+        int bit = query.bitOf(ch);
+        if (bit >= 0 && query.getExactCount(bit) >= 0)
+            letterCount[bit]--;
+    }
+}
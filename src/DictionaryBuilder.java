@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code DictionaryBuilder} class rebuilds the word sources read by {@code Service} from the raw word lists,
+ * replacing the former {@code trimmer.py} and {@code genera_dificultat.py} scripts.
+ *
+ * <p>
+ * Every word list is streamed, normalized (uppercase, accents and the middle dot removed so that every word can be
+ * typed on the game keyboard), filtered by length, deduplicated (keeping the easiest difficulty) and joined with the
+ * difficulty tables already computed from word frequencies. Invalid rows are reported and skipped. Outputs are sorted
+ * by length and then alphabetically, so that the words of each length arrive in sorted order when loaded, and are
+ * byte-for-byte reproducible on any machine. All word lists are processed in parallel.
+ *
+ * <p>
+ * Usage: {@code java DictionaryBuilder [--root=.] [--out=build/Word Sources] [--min=5] [--max=8] [--keep-accents]},
+ * where <var>root</var> is the repository root and the outputs may be written directly to {@code src/Word Sources}.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class DictionaryBuilder {
+    /**
+     * A static constant holding the header of every output.
+     */
+    private static final String HEADER = "paraula,dificultat";
+
+    /**
+     * A static constant holding the difficulty of words missing from every difficulty table, i.e. the rarest one.
+     */
+    private static final int DEFAULT_DIFFICULTY = 3;
+
+    /**
+     * A static constant holding the maximum difficulty accepted, which is bounded by {@code Dawg}.
+     */
+    private static final int MAX_DIFFICULTY = 127;
+
+    /**
+     * A static constant holding the pattern of combining marks and the middle dot removed when folding accents.
+     */
+    private static final Pattern ACCENTS = Pattern.compile("[\\p{M}·]");
+
+    /**
+     * The {@code Job} class describes one output: the raw word list it is built from and the difficulty tables joined,
+     * where earlier tables take precedence.
+     */
+    private static class Job {
+        /**
+         * A {@code Path} holding the raw word list, with one word per row and an optional difficulty column.
+         */
+        final Path input;
+
+        /**
+         * A {@code List} holding the difficulty tables, which are CSV files of word and difficulty.
+         */
+        final List<Path> difficultyTables;
+
+        /**
+         * A String holding the file name of the output.
+         */
+        final String output;
+
+        /**
+         * The only constructor for class {@code Job}.
+         */
+        Job(Path input, List<Path> difficultyTables, String output) {
+            this.input = input;
+            this.difficultyTables = difficultyTables;
+            this.output = output;
+        }
+    }
+
+    /**
+     * This method builds every word source and prints a report of each output.
+     *
+     * @param args a String array holding options in the form {@code --name=value}.
+     */
+    public static void main(String[] args) throws IOException {
+        HashMap<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "");
+        }
+        Path root = Paths.get(options.getOrDefault("root", "."));
+        if (!Files.isDirectory(root.resolve("src")) && Files.isDirectory(root.resolve("../src")))
+            root = root.resolve("..");
+        root = root.toAbsolutePath().normalize();
+        Path out = root.resolve(options.getOrDefault("out", "build/Word Sources"));
+        String[] wordLengths = eWordle.getWordLengths();
+        int minLength = Integer.parseInt(options.getOrDefault("min", wordLengths[0]));
+        int maxLength = Integer.parseInt(options.getOrDefault("max", wordLengths[wordLengths.length - 1]));
+        boolean foldAccents = !options.containsKey("keep-accents");
+
+        List<Job> jobs = findJobs(root);
+        Files.createDirectories(out);
+        long startNanos = System.nanoTime();
+        List<String> reports = jobs.parallelStream().map(job -> {
+            try {
+                return build(job, out, minLength, maxLength, foldAccents);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).collect(Collectors.toList());
+        reports.forEach(System.out::println);
+        System.out.printf("%d fonts reconstruïdes a %s en %.0f ms%n", jobs.size(), out,
+                (System.nanoTime() - startNanos) / 1e6);
+    }
+
+    /**
+     * Returns the jobs of the repository given: the main word source built from the filtered essential dictionary,
+     * and every thematic word list of {@code src/Word Sources}.
+     *
+     * @param root a {@code Path} of the repository root.
+     * @return a {@code List} of jobs.
+     */
+    private static List<Job> findJobs(Path root) throws IOException {
+        ArrayList<Job> jobs = new ArrayList<>();
+        Path essential = root.resolve("Diccionari Essencial de la Llengua Catalana");
+        if (Files.exists(essential.resolve("paraules_filtrat.csv")))
+            jobs.add(new Job(essential.resolve("paraules_filtrat.csv"),
+                    Arrays.asList(essential.resolve("paraules_filtrat_dificultat.csv"),
+                            essential.resolve("paraules_dificultat.csv")), "Trimmed.csv"));
+        Path wordSources = root.resolve("src/Word Sources");
+        try (Stream<Path> files = Files.list(wordSources)) {
+            for (Path file : files.sorted().collect(Collectors.toList())) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(".csv") || name.endsWith("_dificultat.csv") || name.equals("Trimmed.csv"))
+                    continue;
+                String output = name.replace(".csv", "_dificultat.csv");
+                jobs.add(new Job(file, Collections.singletonList(wordSources.resolve(output)), output));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Returns a one-line report of building the job given.
+     *
+     * @param job         a {@code Job} to be built.
+     * @param out         a {@code Path} of the output directory.
+     * @param minLength   an int describing the minimum word length kept.
+     * @param maxLength   an int describing the maximum word length kept.
+     * @param foldAccents a boolean describing whether accents are removed.
+     * @return a String describing the counts of rows read, kept and rejected, and the checksum of the output.
+     */
+    private static String build(Job job, Path out, int minLength, int maxLength, boolean foldAccents)
+            throws IOException {
+        // Join difficulty tables, where the first table holding a word wins.
+        HashMap<String, Integer> difficultyByWord = new HashMap<>();
+        for (Path table : job.difficultyTables) {
+            if (!Files.exists(table))
+                continue;
+            try (Stream<String> lines = Files.lines(table, StandardCharsets.UTF_8)) {
+                lines.forEach(line -> {
+                    String[] items = line.split(",");
+                    Integer difficulty = items.length == 2 ? parseDifficulty(items[1]) : null;
+                    if (difficulty != null)
+                        difficultyByWord.merge(normalize(items[0], foldAccents), difficulty, Math::min);
+                });
+            }
+        }
+
+        // Stream the raw list into a sorted map, keeping the easiest difficulty of duplicates.
+        TreeMap<String, Integer> result = new TreeMap<>(Comparator.comparingInt(String::length)
+                .thenComparing(Comparator.naturalOrder()));
+        int[] counts = new int[4]; // read, invalid, out of range, accepted
+        try (Stream<String> lines = Files.lines(job.input, StandardCharsets.UTF_8)) {
+            lines.forEach(line -> {
+                String[] items = line.split(",");
+                if (items.length == 0 || items[0].trim().equalsIgnoreCase("paraula"))
+                    return;
+                counts[0]++;
+                String word = normalize(items[0], foldAccents);
+                if (!isValid(word, foldAccents)) {
+                    counts[1]++;
+                    return;
+                }
+                if (word.length() < minLength || word.length() > maxLength) {
+                    counts[2]++;
+                    return;
+                }
+                Integer difficulty = difficultyByWord.get(word);
+                if (difficulty == null && items.length == 2)
+                    difficulty = parseDifficulty(items[1]);
+                result.merge(word, difficulty == null ? DEFAULT_DIFFICULTY : difficulty, Math::min);
+                counts[3]++;
+            });
+        }
+        int duplicates = counts[3] - result.size();
+
+        // Write to a temporary file first, so that a failed build never leaves a truncated word source.
+        Path target = out.resolve(job.output);
+        Path temporary = out.resolve(job.output + ".tmp");
+        CRC32 crc = new CRC32();
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write('\n');
+            for (Map.Entry<String, Integer> entry : result.entrySet()) {
+                String row = entry.getKey() + ',' + entry.getValue() + '\n';
+                writer.write(row);
+                crc.update(row.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        return String.format("%-28s %6d llegides, %6d escrites, %5d invàlides, %5d fora de longitud, " +
+                        "%5d duplicades, crc32 %08x", job.output, counts[0], result.size(), counts[1], counts[2],
+                duplicates, crc.getValue());
+    }
+
+    /**
+     * Returns the word normalized: trimmed, uppercase and, if <var>foldAccents</var>, without accents or the middle
+     * dot of {@code L·L}.
+     *
+     * @param word        a String to be normalized.
+     * @param foldAccents a boolean describing whether accents are removed.
+     * @return a String normalized.
+     */
+    static String normalize(String word, boolean foldAccents) {
+        word = word.trim().toUpperCase(Locale.ROOT);
+        if (!foldAccents)
+            return word;
+        return ACCENTS.matcher(Normalizer.normalize(word, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * Returns whether the word normalized can be loaded, i.e. it only contains letters, which are restricted to
+     * {@code A} to {@code Z} if accents are removed.
+     */
+    private static boolean isValid(String word, boolean foldAccents) {
+        if (word.isEmpty())
+            return false;
+        for (int i = 0; i < word.length(); i++) {
+            char ch = word.charAt(i);
+            if (foldAccents ? !('A' <= ch && ch <= 'Z') : !Character.isLetter(ch))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the difficulty parsed, or null if it is not an integer from 1 to
+     * {@link DictionaryBuilder#MAX_DIFFICULTY}.
+     */
+    private static Integer parseDifficulty(String text) {
+        try {
+            int difficulty = Integer.parseInt(text.trim());
+            return 1 <= difficulty && difficulty <= MAX_DIFFICULTY ? difficulty : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
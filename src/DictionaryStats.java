@@ -0,0 +1,276 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * The {@code DictionaryStats} class loads every word source through {@code Service} without any window and reports
+ * the size of each dictionary, its overlap with "Tot", the heap it retains and the time spent in each loading phase,
+ * so that dictionary growth can be tracked as the CSV files change.
+ *
+ * <p>
+ * The report is written as {@code key=value} lines in the order produced, which can be read back with
+ * {@link Properties#load(java.io.Reader)} and compared between runs. Times are in nanoseconds and sizes in bytes.
+ *
+ * <p>
+ * The heap retained by a word source is measured, not estimated: the heap used after garbage collection settles is
+ * read before and right after loading it, so a structure shared with a word source loaded earlier (e.g. a CSV file of
+ * the same content or a word already in the word table) is counted once, on the first one, and the word sources a
+ * word source depends on are counted along with it. The suggestion indexes of every length, which are otherwise built
+ * when a game starts, are measured the same way. Run with a single collector and a fixed heap, e.g.
+ * {@code -XX:+UseSerialGC -Xms512m -Xmx512m}, for figures that compare well between runs.
+ *
+ * <p>
+ * Usage:
+ * {@code java DictionaryStats [--source=Tot] [--suggestions=true] [--max-retained-mb=64] [--out=stats.properties]},
+ * where every source is loaded if none is given, and the exit status is 1 if a word source fails to load or retains
+ * more than <var>max-retained-mb</var>.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class DictionaryStats {
+    /**
+     * A static constant holding the loading phases recorded by {@code Service}, in the order they are reported.
+     */
+    private static final String[] PHASES = {"digest", "parse", "merge", "dawg", "frequency"};
+
+    /**
+     * A static constant holding the maximum number of collections run until the heap used stops decreasing.
+     */
+    private static final int MAX_SETTLING_COLLECTIONS = 10;
+
+    /**
+     * A static {@code LinkedHashMap} holding the report in the order it is produced.
+     */
+    private static final LinkedHashMap<String, Object> report = new LinkedHashMap<>();
+
+    /**
+     * This method loads the word sources, measuring each one as soon as it is loaded, and prints the report.
+     *
+     * @param args a String array holding options in the form {@code --name=value}.
+     */
+    public static void main(String[] args) throws IOException {
+        HashMap<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "");
+        }
+        String[] wordSources = options.containsKey("source") ? new String[]{options.get("source")} :
+                eWordle.getWordSources();
+        String[] wordLengths = eWordle.getWordLengths();
+        boolean suggestions = Boolean.parseBoolean(options.getOrDefault("suggestions", "true"));
+        long maxRetainedBytes = options.containsKey("max-retained-mb") ?
+                (long) (Double.parseDouble(options.get("max-retained-mb")) * 1048576) : Long.MAX_VALUE;
+
+        report.put("java.version", System.getProperty("java.version"));
+        StringJoiner collectors = new StringJoiner(",");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            collectors.add(collector.getName());
+        report.put("gc", collectors);
+        report.put("heap.max.bytes", Runtime.getRuntime().maxMemory());
+        report.put("dictionaryBackend", "dawg".equalsIgnoreCase(System.getProperty(Service.DAWG_PROPERTY)) ?
+                "dawg" : "hashmap");
+
+        Service service = Service.getInstance();
+        long[] lastHeapUsed = {settledHeapUsed()};
+        long[] lastNanos = {System.nanoTime()};
+        long[] lastPhaseNanos = phaseNanos();
+        report.put("heap.baseline.bytes", lastHeapUsed[0]);
+        ArrayList<String> failures = new ArrayList<>();
+        String initResult = service.initService(wordSources, wordLengths, (wordSource, loadResult) -> {
+            long loadNanos = System.nanoTime() - lastNanos[0];
+            long[] currentPhaseNanos = phaseNanos();
+            String prefix = "source." + wordSource + ".";
+            report.put(prefix + "result", loadResult.length() == 0 ? "ok" : loadResult);
+            report.put(prefix + "time.load.nanos", loadNanos);
+            long otherNanos = loadNanos;
+            for (int i = 0; i < PHASES.length; i++) {
+                report.put(prefix + "time." + PHASES[i] + ".nanos", currentPhaseNanos[i] - lastPhaseNanos[i]);
+                otherNanos -= currentPhaseNanos[i] - lastPhaseNanos[i];
+            }
+            // Locating files, class loading and compilation, which is mostly paid by the first word source.
+            report.put(prefix + "time.other.nanos", otherNanos);
+            System.arraycopy(currentPhaseNanos, 0, lastPhaseNanos, 0, PHASES.length);
+            long heapUsed = settledHeapUsed();
+            long retained = heapUsed - lastHeapUsed[0];
+            report.put(prefix + "heap.retained.bytes", retained);
+            if (retained > maxRetainedBytes)
+                failures.add(wordSource + " reté " + retained + " bytes");
+            if (suggestions && loadResult.length() == 0) {
+                long startNanos = System.nanoTime();
+                for (String wordLength : wordLengths)
+                    service.prepareSuggestions(wordSource, Integer.parseInt(wordLength));
+                report.put(prefix + "time.suggestions.nanos", System.nanoTime() - startNanos);
+                long suggestionHeapUsed = settledHeapUsed();
+                report.put(prefix + "heap.suggestions.bytes", suggestionHeapUsed - heapUsed);
+                heapUsed = suggestionHeapUsed;
+            }
+            lastHeapUsed[0] = heapUsed;
+            lastNanos[0] = System.nanoTime();
+        });
+        if (initResult.length() != 0)
+            failures.add(initResult);
+        report.put("heap.total.retained.bytes", lastHeapUsed[0] - (long) report.get("heap.baseline.bytes"));
+
+        reportWords(service, wordSources);
+
+        String out = options.get("out");
+        if (out == null) {
+            PrintStream stdout = newUtf8Stdout();
+            writeReport(stdout);
+            stdout.flush();
+        } else
+            try (Writer writer = Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8)) {
+                writeReport(writer);
+            }
+        for (String failure : failures)
+            System.err.println(failure);
+        if (!failures.isEmpty())
+            System.exit(1);
+    }
+
+    /**
+     * This method adds the word counts of every word source loaded by length and difficulty, and their overlap with
+     * "Tot" and with each other, to the report.
+     *
+     * @param service     a {@code Service} whose word sources are loaded.
+     * @param wordSources a String array holding the word sources reported.
+     */
+    private static void reportWords(Service service, String[] wordSources) {
+        Map<Integer, Map<String, Integer>> tot = service.getDictionary("Tot");
+        // Count the word sources other than "Tot" holding each word, where words are of one length only.
+        HashMap<String, Integer> sourcesByWord = new HashMap<>();
+        for (String wordSource : wordSources) {
+            Map<Integer, Map<String, Integer>> dictionary = service.getDictionary(wordSource);
+            if (dictionary == null || "Tot".equals(wordSource))
+                continue;
+            for (Map<String, Integer> difficultyByWord : dictionary.values())
+                for (String word : difficultyByWord.keySet())
+                    sourcesByWord.merge(word, 1, Integer::sum);
+        }
+        for (String wordSource : wordSources) {
+            Map<Integer, Map<String, Integer>> dictionary = service.getDictionary(wordSource);
+            if (dictionary == null)
+                continue;
+            String prefix = "source." + wordSource + ".";
+            long words = 0, inTot = 0, totDifficultyDiffers = 0, shared = 0;
+            for (Map.Entry<Integer, Map<String, Integer>> lengthEntry : dictionary.entrySet()) {
+                String lengthPrefix = prefix + "length." + lengthEntry.getKey() + ".";
+                Map<String, Integer> totShard = tot == null ? null : tot.get(lengthEntry.getKey());
+                TreeMap<Integer, Integer> wordsByDifficulty = new TreeMap<>();
+                for (Map.Entry<String, Integer> wordEntry : lengthEntry.getValue().entrySet()) {
+                    wordsByDifficulty.merge(wordEntry.getValue(), 1, Integer::sum);
+                    Integer totDifficulty = totShard == null ? null : totShard.get(wordEntry.getKey());
+                    if (totDifficulty != null) {
+                        inTot++;
+                        if (!totDifficulty.equals(wordEntry.getValue()))
+                            totDifficultyDiffers++;
+                    }
+                    if (sourcesByWord.getOrDefault(wordEntry.getKey(), 0) > 1)
+                        shared++;
+                }
+                words += lengthEntry.getValue().size();
+                report.put(lengthPrefix + "words", lengthEntry.getValue().size());
+                for (Map.Entry<Integer, Integer> difficultyEntry : wordsByDifficulty.entrySet())
+                    report.put(lengthPrefix + "difficulty." + difficultyEntry.getKey() + ".words",
+                            difficultyEntry.getValue());
+            }
+            report.put(prefix + "words", words);
+            if (tot != null && !"Tot".equals(wordSource)) {
+                report.put(prefix + "inTot", inTot);
+                report.put(prefix + "notInTot", words - inTot);
+                report.put(prefix + "totDifficultyDiffers", totDifficultyDiffers);
+                report.put(prefix + "sharedWithOtherSources", shared);
+            }
+        }
+        long total = 0;
+        for (int count : sourcesByWord.values())
+            total += count;
+        report.put("words.union", sourcesByWord.size());
+        report.put("words.duplicates", total - sourcesByWord.size());
+    }
+
+    /**
+     * Returns the accumulated time of each loading phase recorded by {@code Service} so far.
+     *
+     * @return a long array holding nanoseconds in the order of {@link DictionaryStats#PHASES}.
+     */
+    private static long[] phaseNanos() {
+        long[] nanos = new long[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++)
+            nanos[i] = Metrics.histogram("initService.phaseTime." + PHASES[i]).getSum();
+        return nanos;
+    }
+
+    /**
+     * Returns the heap used once garbage collection settles, i.e. collecting until the heap used stops decreasing.
+     *
+     * @return a long describing the heap used in bytes.
+     */
+    private static long settledHeapUsed() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < MAX_SETTLING_COLLECTIONS; i++) {
+            memory.gc();
+            long current = memory.getHeapMemoryUsage().getUsed();
+            if (current >= used)
+                break;
+            used = current;
+        }
+        return used;
+    }
+
+    /**
+     * This method writes the report as {@code key=value} lines.
+     *
+     * @param output an {@code Appendable} receiving the report.
+     * @throws IOException if the report cannot be written.
+     */
+    private static void writeReport(Appendable output) throws IOException {
+        output.append("# eWordle dictionary statistics\n");
+        for (Map.Entry<String, Object> entry : report.entrySet())
+            output.append(entry.getKey()).append('=').append(String.valueOf(entry.getValue())).append('\n');
+    }
+
+    /**
+     * Returns the standard output encoding in UTF-8, so that word source names are written the same on any platform.
+     *
+     * @return a {@code PrintStream} writing to the standard output.
+     */
+    private static PrintStream newUtf8Stdout() {
+        try {
+            return new PrintStream(System.out, false, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            return System.out;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The {@code DifficultyCalibrator} class records the outcome of every game by word source and answer word and derives
+ * the difficulty each word has in practice in that word source, which replaces the difficulty of its file once enough
+ * games are played. A word shared by several word sources is calibrated separately in each one, against the
+ * difficulty it has there.
+ *
+ * <p>
+ * Outcomes are added to striped {@code LongAdder}s, so that recording never blocks the game. A background thread
+ * recomputes the difficulty of the words played since the last run every {@link DifficultyCalibrator#PERIOD_PROPERTY}
+ * seconds, publishes the result as a whole and keeps the outcomes in {@link DifficultyCalibrator#OUTCOME_FILE} under
+ * the data directory.
+ *
+ * <p>
+ * Each game gives a credit from 0 to 1: 0 if lost, 1 if solved in the first row, down to 0.5 if solved in the last
+ * row, halved if the helper was used. The solve rate of a word is its mean credit smoothed towards the rate expected
+ * from its difficulty in the files, so that a word keeps its difficulty until a few games say otherwise.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class DifficultyCalibrator {
+    /**
+     * A static constant holding the name of the file keeping the outcomes under the data directory.
+     */
+    public static final String OUTCOME_FILE = "outcomes.properties";
+
+    /**
+     * A static constant holding the system property that overrides {@link DifficultyCalibrator#DEFAULT_PERIOD}.
+     */
+    public static final String PERIOD_PROPERTY = "eWordle.calibrationPeriod";
+
+    /**
+     * A static constant holding the default number of seconds between two recomputations.
+     */
+    private static final int DEFAULT_PERIOD = 60;
+
+    /**
+     * A static constant holding the solve rate expected from each difficulty of the files, from 1 to 3.
+     */
+    private static final double[] EXPECTED_SOLVE_RATE = new double[]{0.9, 0.7, 0.45};
+
+    /**
+     * A static constant holding the number of virtual games at the expected solve rate added to every word.
+     */
+    private static final double PRIOR_GAMES = 4;
+
+    /**
+     * A static constant holding the unit of the credits counted, which are kept as integers.
+     */
+    private static final long CREDIT_UNIT = 1000;
+
+    /**
+     * A static constant holding the separator of the word source and the answer word in the keys of
+     * {@link DifficultyCalibrator#OUTCOME_FILE}.
+     */
+    private static final char KEY_SEPARATOR = '|';
+
+    /**
+     * The {@code Outcome} class holds the counters of one answer word of one word source.
+     */
+    private static class Outcome {
+        /**
+         * An int holding the difficulty of the word in the file of its word source, from 1 to 3.
+         */
+        final int baseDifficulty;
+
+        /**
+         * {@code LongAdder}s holding the number of games, of games won, of games won with the helper, and the
+         * credit in {@link DifficultyCalibrator#CREDIT_UNIT}s.
+         */
+        final LongAdder games = new LongAdder(), wins = new LongAdder(), helped = new LongAdder(),
+                credit = new LongAdder();
+
+        /**
+         * The only constructor for class {@code Outcome}.
+         *
+         * @param baseDifficulty an int describing the difficulty of the word in the file of its word source.
+         */
+        Outcome(int baseDifficulty) {
+            this.baseDifficulty = Math.max(1, Math.min(EXPECTED_SOLVE_RATE.length, baseDifficulty));
+        }
+    }
+
+    /**
+     * A {@code ConcurrentHashMap} holding the outcomes by word source and then by answer word.
+     */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Outcome>> outcomeBySource =
+            new ConcurrentHashMap<>();
+
+    /**
+     * A {@code LongAdder} holding the number of games recorded since the last recomputation.
+     */
+    private final LongAdder pendingGames = new LongAdder();
+
+    /**
+     * A {@code Path} holding the file where the outcomes are kept.
+     */
+    private final Path outcomeFile;
+
+    /**
+     * A {@code Consumer} receiving every difficulty overlay computed, by word source and then by word.
+     */
+    private final Consumer<Map<String, Map<String, Integer>>> publisher;
+
+    /**
+     * A {@code ScheduledExecutorService} running the recomputation, or null if not started.
+     */
+    private volatile ScheduledExecutorService executor;
+
+    /**
+     * The only constructor for class {@code DifficultyCalibrator}.
+     *
+     * @param outcomeFile a {@code Path} of the file where the outcomes are kept.
+     * @param publisher   a {@code Consumer} receiving every difficulty overlay computed, by word source and then by
+     *                    word.
+     */
+    public DifficultyCalibrator(Path outcomeFile, Consumer<Map<String, Map<String, Integer>>> publisher) {
+        this.outcomeFile = outcomeFile;
+        this.publisher = publisher;
+    }
+
+    /**
+     * This method loads the outcomes kept by earlier runs, publishes their overlay and starts the background
+     * recomputation. Nothing is done if it has already started.
+     */
+    public synchronized void start() {
+        if (executor != null)
+            return;
+        load();
+        publisher.accept(computeOverlay());
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "eWordle-calibrator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Integer.getInteger(PERIOD_PROPERTY, DEFAULT_PERIOD);
+        executor.scheduleWithFixedDelay(this::recomputeIfPending, period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * This method records the outcome of one answer word of a word source, which is safe to call from any thread.
+     * Nothing is recorded before {@link DifficultyCalibrator#start()}, so that tools replaying games without the
+     * outcomes kept neither recalibrate nor overwrite them.
+     *
+     * @param wordSource     a String representing the word source of the game.
+     * @param word           an uppercase String describing the answer word.
+     * @param baseDifficulty an int describing the difficulty of the word in the file of <var>wordSource</var>.
+     * @param solved         a boolean describing whether the word was solved.
+     * @param tries          an int describing the row where the word was solved, counting from one.
+     * @param maxRows        an int describing the number of rows available.
+     * @param helped         a boolean describing whether the helper was used.
+     */
+    public void record(String wordSource, String word, int baseDifficulty, boolean solved, int tries, int maxRows,
+                       boolean helped) {
+        if (executor == null)
+            return;
+        Outcome outcome = outcomeBySource.computeIfAbsent(wordSource, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(word, key -> new Outcome(baseDifficulty));
+        outcome.games.increment();
+        if (solved) {
+            outcome.wins.increment();
+            double credit = 1 - 0.5 * (tries - 1) / Math.max(1, maxRows - 1);
+            if (helped) {
+                outcome.helped.increment();
+                credit /= 2;
+            }
+            outcome.credit.add(Math.round(credit * CREDIT_UNIT));
+        }
+        pendingGames.increment();
+    }
+
+    /**
+     * This method recomputes and publishes the overlay if any game was recorded since the last run, and keeps the
+     * outcomes.
+     */
+    public void recomputeIfPending() {
+        long pending = pendingGames.sumThenReset();
+        if (pending == 0)
+            return;
+        publisher.accept(computeOverlay());
+        Metrics.counter("difficultyCalibrator.recomputed").increment();
+        save();
+    }
+
+    /**
+     * Returns the difficulty of every word recorded in each word source, which is a new map on every call.
+     *
+     * @return a HashMap holding the difficulty from 1 to 3 by word source and then by word.
+     */
+    public HashMap<String, Map<String, Integer>> computeOverlay() {
+        HashMap<String, Map<String, Integer>> difficultyBySource = new HashMap<>();
+        for (Map.Entry<String, ConcurrentHashMap<String, Outcome>> sourceEntry : outcomeBySource.entrySet()) {
+            HashMap<String, Integer> difficultyByWord = new HashMap<>();
+            for (Map.Entry<String, Outcome> entry : sourceEntry.getValue().entrySet()) {
+                Outcome outcome = entry.getValue();
+                difficultyByWord.put(entry.getKey(), difficultyOf(outcome.baseDifficulty, outcome.games.sum(),
+                        (double) outcome.credit.sum() / CREDIT_UNIT));
+            }
+            difficultyBySource.put(sourceEntry.getKey(), difficultyByWord);
+        }
+        return difficultyBySource;
+    }
+
+    /**
+     * This static method returns the difficulty whose expected solve rate is the nearest to the smoothed solve rate.
+     *
+     * @param baseDifficulty an int describing the difficulty in the files, from 1 to 3.
+     * @param games          a long describing the number of games.
+     * @param credit         a double describing the sum of credits of the games.
+     * @return an int describing the difficulty from 1 to 3.
+     */
+    static int difficultyOf(int baseDifficulty, long games, double credit) {
+        double rate = (credit + PRIOR_GAMES * EXPECTED_SOLVE_RATE[baseDifficulty - 1]) / (games + PRIOR_GAMES);
+        int difficulty = 1;
+        for (int i = 1; i < EXPECTED_SOLVE_RATE.length; i++)
+            if (rate < (EXPECTED_SOLVE_RATE[i - 1] + EXPECTED_SOLVE_RATE[i]) / 2)
+                difficulty = i + 1;
+        return difficulty;
+    }
+
+    /**
+     * This method loads the outcomes kept as "difficulty,games,wins,helped,credit" by "wordSource|word", skipping
+     * corrupted ones and those kept by word only, whose word source is unknown.
+     */
+    private void load() {
+        Properties kept = new Properties();
+        try (BufferedReader reader = Files.newBufferedReader(outcomeFile, StandardCharsets.UTF_8)) {
+            kept.load(reader);
+        } catch (IOException e) {
+            // No outcome kept yet.
+            return;
+        }
+        for (String key : kept.stringPropertyNames()) {
+            String[] fields = kept.getProperty(key).split(",");
+            int separator = key.indexOf(KEY_SEPARATOR);
+            try {
+                if (fields.length != 5 || separator < 0)
+                    continue;
+                Outcome outcome = outcomeBySource.computeIfAbsent(key.substring(0, separator),
+                        wordSource -> new ConcurrentHashMap<>()).computeIfAbsent(key.substring(separator + 1),
+                        word -> new Outcome(Integer.parseInt(fields[0])));
+                outcome.games.add(Long.parseLong(fields[1]));
+                outcome.wins.add(Long.parseLong(fields[2]));
+                outcome.helped.add(Long.parseLong(fields[3]));
+                outcome.credit.add(Long.parseLong(fields[4]));
+            } catch (NumberFormatException e) {
+                // A corrupted outcome is dropped.
+            }
+        }
+    }
+
+    /**
+     * This method keeps the outcomes in {@link DifficultyCalibrator#OUTCOME_FILE}.
+     */
+    private synchronized void save() {
+        Properties kept = new Properties();
+        for (Map.Entry<String, ConcurrentHashMap<String, Outcome>> sourceEntry : outcomeBySource.entrySet())
+            for (Map.Entry<String, Outcome> entry : sourceEntry.getValue().entrySet()) {
+                Outcome outcome = entry.getValue();
+                kept.setProperty(sourceEntry.getKey() + KEY_SEPARATOR + entry.getKey(), outcome.baseDifficulty + "," +
+                        outcome.games.sum() + "," + outcome.wins.sum() + "," + outcome.helped.sum() + "," +
+                        outcome.credit.sum());
+            }
+        try {
+            Files.createDirectories(outcomeFile.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(outcomeFile, StandardCharsets.UTF_8)) {
+                kept.store(writer, "eWordle outcomes by word source and answer word");
+            }
+        } catch (IOException e) {
+            System.err.println("Error desant els resultats de les partides: " + e.getMessage());
+        }
+    }
+}
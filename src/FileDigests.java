@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+/**
+ * The {@code FileDigests} class returns the content hash of files, kept in {@link FileDigests#DIGEST_FILE} under the
+ * data directory so that a file unchanged since the last run is never read again just to be hashed.
+ *
+ * <p>
+ * Each file is kept as "size,modified time,hash" by its absolute path. If the size and the modified time of a file
+ * are the same as kept, the hash kept is returned at once, otherwise the content is hashed with SHA-256 again. Equal
+ * hashes mean equal content, whatever the paths, which makes them a key for anything derived from the content.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class FileDigests {
+    /**
+     * A static constant holding the name of the file keeping the hashes under the data directory.
+     */
+    public static final String DIGEST_FILE = "digests.properties";
+
+    /**
+     * A {@code FileDigests} holding the only instance of current class.
+     */
+    private static FileDigests instance;
+
+    /**
+     * A {@code Properties} holding "size,modified time,hash" by absolute path.
+     */
+    private final Properties digests = new Properties();
+
+    /**
+     * A {@code Path} holding the file where the hashes are kept.
+     */
+    private final Path digestFile;
+
+    /**
+     * The only constructor for class {@code FileDigests}, which loads the hashes kept by earlier runs.
+     */
+    private FileDigests() {
+        digestFile = eWordle.getDataDirectory().resolve(DIGEST_FILE);
+        try (BufferedReader reader = Files.newBufferedReader(digestFile, StandardCharsets.UTF_8)) {
+            digests.load(reader);
+        } catch (IOException e) {
+            // No hash kept yet.
+        }
+    }
+
+    /**
+     * Returns an instance of current class, where only one copy of instance will exist.
+     *
+     * @return an instance of current class.
+     */
+    public static synchronized FileDigests getInstance() {
+        if (instance == null)
+            instance = new FileDigests();
+        return instance;
+    }
+
+    /**
+     * Returns the content hash of the file given, hashing its content only if it changed since it was last hashed.
+     *
+     * @param file a {@code Path} of a regular file.
+     * @return a String holding the SHA-256 of the content in hexadecimal.
+     * @throws IOException if the file cannot be read.
+     */
+    public synchronized String digest(Path file) throws IOException {
+        String key = file.toAbsolutePath().normalize().toString();
+        String stamp = Files.size(file) + "," + Files.getLastModifiedTime(file).toMillis();
+        String kept = digests.getProperty(key, "");
+        if (kept.startsWith(stamp + ",")) {
+            Metrics.counter("fileDigests.unchanged").increment();
+            return kept.substring(stamp.length() + 1);
+        }
+        Metrics.counter("fileDigests.hashed").increment();
+        String hash = hash(file);
+        digests.setProperty(key, stamp + "," + hash);
+        try {
+            Files.createDirectories(digestFile.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(digestFile, StandardCharsets.UTF_8)) {
+                digests.store(writer, "eWordle file digests");
+            }
+        } catch (IOException e) {
+            System.err.println("Error desant els resums dels fitxers: " + e.getMessage());
+        }
+        return hash;
+    }
+
+    /**
+     * This static method returns the SHA-256 of the content of the file given.
+     *
+     * @param file a {@code Path} of a regular file.
+     * @return a String holding the hash in hexadecimal.
+     * @throws IOException if the file cannot be read.
+     */
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer))
+                digest.update(buffer, 0, read);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest())
+            hex.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return hex.toString();
+    }
+}
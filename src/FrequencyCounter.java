@@ -0,0 +1,392 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The {@code FrequencyCounter} class counts how often the words of the word sources appear in local plain-text
+ * corpora and assigns their difficulty from configurable quantiles, replacing the {@code wordfreq} lookup of
+ * {@code genera_dificultat.py}.
+ *
+ * <p>
+ * Every corpus file is memory-mapped and split into chunks at whitespace, which are tokenized in parallel directly
+ * from the UTF-8 bytes. Tokens are folded (uppercase, no accents, no middle dot) without allocating and looked up in an
+ * open-addressing table of the vocabulary, so each chunk only increments a primitive counter per vocabulary word.
+ * Chunk counters are summed at the end.
+ *
+ * <p>
+ * Words of each word source are then ranked by frequency, where the most frequent fraction up to the first quantile
+ * gets difficulty 1, up to the second quantile difficulty 2, and so on. Words with the same count always share the
+ * same difficulty, and words never seen get the highest one.
+ *
+ * <p>
+ * Usage: {@code java FrequencyCounter --corpus=<file or directory>[,...] [--quantiles=0.2,0.5] [--root=.]
+ * [--out=build/Word Sources]}.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class FrequencyCounter {
+    /**
+     * A static constant holding the maximum size of a chunk, which keeps every mapping below 2 GB.
+     */
+    private static final int MAX_CHUNK_SIZE = 64 << 20;
+
+    /**
+     * A static constant holding the minimum size of a chunk.
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * A static constant holding the code points (Latin-1 and Latin Extended) that may be folded into a letter.
+     */
+    private static final int FOLD_LIMIT = 0x250;
+
+    /**
+     * A static constant holding the marker of a code point skipped inside words, i.e. the middle dot of {@code L·L}.
+     */
+    private static final char SKIPPED = '\uFFFF';
+
+    /**
+     * A static char array holding the folded uppercase letter of each code point below
+     * {@link FrequencyCounter#FOLD_LIMIT}, 0 if it cannot be folded to {@code A} to {@code Z}, or
+     * {@link FrequencyCounter#SKIPPED}.
+     */
+    private static final char[] FOLD = new char[FOLD_LIMIT];
+
+    static {
+        for (int codePoint = 0; codePoint < FOLD_LIMIT; codePoint++) {
+            String folded = DictionaryBuilder.normalize(String.valueOf((char) codePoint), true);
+            if (folded.length() == 1 && 'A' <= folded.charAt(0) && folded.charAt(0) <= 'Z')
+                FOLD[codePoint] = folded.charAt(0);
+        }
+        FOLD['·'] = SKIPPED;
+    }
+
+    /**
+     * A static constant holding the longest token looked up, where longer tokens cannot be in the vocabulary.
+     */
+    private static final int MAX_TOKEN_LENGTH = 32;
+
+    /**
+     * The {@code Vocabulary} class holds the folded words of every word source in an open-addressing table, where
+     * each word is identified by its slot.
+     */
+    private static class Vocabulary {
+        /**
+         * A char array matrix holding the word of each slot, or null if the slot is empty.
+         */
+        final char[][] words;
+
+        /**
+         * An int holding the mask of a slot index.
+         */
+        final int mask;
+
+        /**
+         * The only constructor for class {@code Vocabulary}.
+         *
+         * @param folded a {@code Set} holding the folded words.
+         */
+        Vocabulary(Set<String> folded) {
+            int capacity = Integer.highestOneBit(Math.max(16, folded.size() * 2 - 1)) << 1;
+            words = new char[capacity][];
+            mask = capacity - 1;
+            for (String word : folded) {
+                char[] chars = word.toCharArray();
+                int slot = hash(chars, chars.length) & mask;
+                while (words[slot] != null)
+                    slot = (slot + 1) & mask;
+                words[slot] = chars;
+            }
+        }
+
+        /**
+         * Returns the slot of the word given, or -1 if it is not in the vocabulary.
+         *
+         * @param token  a char array holding the folded token.
+         * @param length an int describing the length of the token.
+         * @return an int describing the slot.
+         */
+        int slotOf(char[] token, int length) {
+            for (int slot = hash(token, length) & mask; words[slot] != null; slot = (slot + 1) & mask)
+                if (words[slot].length == length && Arrays.equals(words[slot], 0, length, token, 0, length))
+                    return slot;
+            return -1;
+        }
+
+        /**
+         * This static method returns the hash of the first <var>length</var> chars, mixed so that linear probing
+         * stays short.
+         */
+        static int hash(char[] chars, int length) {
+            int hash = 0;
+            for (int i = 0; i < length; i++)
+                hash = hash * 31 + chars[i];
+            hash *= 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * This method counts the corpora given and writes the word sources with their new difficulties.
+     *
+     * @param args a String array holding options in the form {@code --name=value}.
+     */
+    public static void main(String[] args) throws IOException {
+        HashMap<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "");
+        }
+        if (!options.containsKey("corpus")) {
+            System.err.println("Ús: java FrequencyCounter --corpus=<fitxer o directori>[,...] [--quantiles=0.2,0.5]");
+            System.exit(2);
+        }
+        Path root = Paths.get(options.getOrDefault("root", "."));
+        if (!Files.isDirectory(root.resolve("src")) && Files.isDirectory(root.resolve("../src")))
+            root = root.resolve("..");
+        root = root.toAbsolutePath().normalize();
+        Path wordSources = root.resolve("src/Word Sources");
+        Path out = root.resolve(options.getOrDefault("out", "build/Word Sources"));
+        double[] quantiles = Arrays.stream(options.getOrDefault("quantiles", "0.2,0.5").split(","))
+                .mapToDouble(Double::parseDouble).sorted().toArray();
+
+        // Collect the word sources and their vocabulary.
+        LinkedHashMap<Path, List<String>> rowsBySource = new LinkedHashMap<>();
+        TreeSet<String> folded = new TreeSet<>();
+        try (Stream<Path> files = Files.list(wordSources)) {
+            for (Path file : files.sorted().collect(Collectors.toList())) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith("_dificultat.csv") && !name.equals("Trimmed.csv"))
+                    continue;
+                List<String> rows = Files.readAllLines(file, StandardCharsets.UTF_8);
+                rowsBySource.put(file, rows);
+                for (String row : rows)
+                    folded.add(DictionaryBuilder.normalize(row.split(",")[0], true));
+            }
+        }
+        Vocabulary vocabulary = new Vocabulary(folded);
+
+        // Split every corpus into chunks and count them in parallel.
+        ArrayList<long[]> chunks = new ArrayList<>(); // file index, start, length
+        ArrayList<Path> corpora = new ArrayList<>();
+        for (String corpus : options.get("corpus").split(","))
+            try (Stream<Path> files = Files.walk(Paths.get(corpus))) {
+                corpora.addAll(files.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+            }
+        long totalBytes = 0;
+        for (int i = 0; i < corpora.size(); i++) {
+            long size = Files.size(corpora.get(i));
+            totalBytes += size;
+            for (long[] chunk : split(corpora.get(i), size))
+                chunks.add(new long[]{i, chunk[0], chunk[1]});
+        }
+        long startNanos = System.nanoTime();
+        long[] counts = chunks.parallelStream().map(chunk -> {
+            try (FileChannel channel = FileChannel.open(corpora.get((int) chunk[0]), StandardOpenOption.READ)) {
+                return count(channel.map(FileChannel.MapMode.READ_ONLY, chunk[1], chunk[2]), vocabulary);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).reduce(new long[vocabulary.words.length + 1], (left, right) -> {
+            long[] sum = new long[left.length];
+            for (int i = 0; i < sum.length; i++)
+                sum[i] = left[i] + right[i];
+            return sum;
+        });
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long tokens = counts[counts.length - 1];
+        System.out.printf("%d fitxers, %.1f MB, %d paraules comptades en %.2f s (%.1f MB/s)%n", corpora.size(),
+                totalBytes / 1048576.0, tokens, seconds, totalBytes / 1048576.0 / Math.max(seconds, 1e-9));
+
+        // Assign difficulties by quantiles of each word source and write the results.
+        Files.createDirectories(out);
+        for (Map.Entry<Path, List<String>> entry : rowsBySource.entrySet()) {
+            Path target = out.resolve(entry.getKey().getFileName());
+            int[] tierCounts = writeSource(entry.getValue(), target, vocabulary, counts, quantiles);
+            System.out.println(target.getFileName() + " " + Arrays.toString(tierCounts));
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(out.resolve("frequencies.csv"), StandardCharsets.UTF_8)) {
+            writer.write("paraula,aparicions,per_milio\n");
+            ArrayList<Integer> slots = new ArrayList<>();
+            for (int slot = 0; slot < vocabulary.words.length; slot++)
+                if (vocabulary.words[slot] != null)
+                    slots.add(slot);
+            slots.sort(Comparator.comparingLong((Integer slot) -> -counts[slot])
+                    .thenComparing(slot -> new String(vocabulary.words[slot])));
+            for (int slot : slots)
+                writer.write(new String(vocabulary.words[slot]) + ',' + counts[slot] + ',' +
+                        String.format(Locale.ROOT, "%.3f", counts[slot] * 1e6 / Math.max(tokens, 1)) + '\n');
+        }
+    }
+
+    /**
+     * Returns the chunks of the file given, where every chunk but the first starts right after a whitespace byte.
+     *
+     * @param file a {@code Path} of a corpus.
+     * @param size a long describing the size of the file.
+     * @return a {@code List} of {@code {start, length}}.
+     */
+    private static List<long[]> split(Path file, long size) throws IOException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / (processors * 4L) + 1));
+        ArrayList<long[]> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long start = 0;
+            while (start < size) {
+                long end = Math.min(size, start + chunkSize);
+                if (end < size) {
+                    // Move the boundary right after the next whitespace, so that no token is split.
+                    MappedByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, end,
+                            Math.min(size - end, MIN_CHUNK_SIZE));
+                    while (tail.hasRemaining())
+                        if (isWhitespace(tail.get()))
+                            break;
+                    end += tail.position();
+                }
+                chunks.add(new long[]{start, end - start});
+                start = end;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * This static method returns whether the byte is ASCII whitespace.
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+    }
+
+    /**
+     * Returns the counter of every vocabulary slot in the buffer given, followed by the number of tokens read.
+     *
+     * @param buffer     a {@code MappedByteBuffer} holding UTF-8 text that does not split any token.
+     * @param vocabulary a {@code Vocabulary} holding the words counted.
+     * @return a long array indexed by slot, whose last element is the number of tokens.
+     */
+    private static long[] count(MappedByteBuffer buffer, Vocabulary vocabulary) {
+        long[] counts = new long[vocabulary.words.length + 1];
+        char[] token = new char[MAX_TOKEN_LENGTH];
+        int length = 0;
+        boolean isFoldable = true;
+        boolean isInsideToken = false;
+        while (true) {
+            int codePoint = -1;
+            if (buffer.hasRemaining()) {
+                // Decode one code point from UTF-8, where invalid sequences act as separators.
+                int b = buffer.get() & 0xFF;
+                if (b < 0x80)
+                    codePoint = b;
+                else if (b >= 0xC0 && buffer.hasRemaining()) {
+                    int extra = b >= 0xF0 ? 3 : b >= 0xE0 ? 2 : 1;
+                    codePoint = b & (0x3F >> extra);
+                    for (int i = 0; i < extra && buffer.hasRemaining(); i++)
+                        codePoint = (codePoint << 6) | (buffer.get() & 0x3F);
+                } else
+                    codePoint = 0;
+            }
+            if (codePoint > 0 && Character.isLetter(codePoint) || codePoint == '·' && isInsideToken) {
+                isInsideToken = true;
+                char ch = codePoint < FOLD_LIMIT ? FOLD[codePoint] : 0;
+                if (ch == SKIPPED)
+                    continue;
+                if (ch == 0 || length == MAX_TOKEN_LENGTH)
+                    isFoldable = false;
+                else
+                    token[length++] = ch;
+                continue;
+            }
+            // A separator ends the current token.
+            if (isInsideToken) {
+                counts[counts.length - 1]++;
+                if (isFoldable) {
+                    int slot = vocabulary.slotOf(token, length);
+                    if (slot >= 0)
+                        counts[slot]++;
+                }
+            }
+            length = 0;
+            isFoldable = true;
+            isInsideToken = false;
+            if (codePoint < 0)
+                return counts;
+        }
+    }
+
+    /**
+     * Returns the number of words of each difficulty after writing the word source given with the difficulties
+     * assigned by <var>quantiles</var>.
+     *
+     * @param rows       a {@code List} holding the rows of a word source, including the header.
+     * @param target     a {@code Path} of the output.
+     * @param vocabulary a {@code Vocabulary} holding the words counted.
+     * @param counts     a long array holding the counter of every vocabulary slot.
+     * @param quantiles  a double array holding the cumulative fraction of words of each difficulty but the last.
+     * @return an int array indexed by difficulty minus one.
+     */
+    private static int[] writeSource(List<String> rows, Path target, Vocabulary vocabulary, long[] counts,
+                                     double[] quantiles) throws IOException {
+        ArrayList<String> words = new ArrayList<>();
+        ArrayList<Long> wordCounts = new ArrayList<>();
+        for (String row : rows) {
+            String[] items = row.split(",");
+            if (items.length != 2 || items[0].equalsIgnoreCase("paraula"))
+                continue;
+            char[] folded = DictionaryBuilder.normalize(items[0], true).toCharArray();
+            int slot = vocabulary.slotOf(folded, folded.length);
+            words.add(items[0]);
+            wordCounts.add(slot < 0 ? 0 : counts[slot]);
+        }
+        // The threshold of each difficulty is the count of the word at its quantile rank.
+        long[] sorted = wordCounts.stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] thresholds = new long[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            int rank = (int) Math.ceil(quantiles[i] * sorted.length);
+            thresholds[i] = rank == 0 ? Long.MAX_VALUE : Math.max(1, sorted[sorted.length - rank]);
+        }
+        int[] tierCounts = new int[quantiles.length + 1];
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write("paraula,dificultat\n");
+            for (int i = 0; i < words.size(); i++) {
+                int difficulty = 1;
+                while (difficulty <= quantiles.length && wordCounts.get(i) < thresholds[difficulty - 1])
+                    difficulty++;
+                tierCounts[difficulty - 1]++;
+                writer.write(words.get(i) + ',' + difficulty + '\n');
+            }
+        }
+        return tierCounts;
+    }
+}
@@ -22,9 +22,14 @@
 import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * The {@code Game} class manages a game window that enables user to play the game and shows the result window after
@@ -36,7 +41,8 @@ import javax.swing.*;
  *
  * <p>
  * Multiple instances of this class may be instantiated for various settings of preferred word length of the word to be
- * guessed. But only one instance will exist or be held by {@link Game#instance} at any time.
+ * guessed. But only one instance will exist or be held by {@link Game#instance} at any time. The game window itself is
+ * created once and reused by every instance, where only its contents are reset for each new game.
  *
  * @author Mingchun Zhuang
  * @version 1.0
@@ -74,44 +80,46 @@ public class Game {
     private static final int CONTENT_MARGIN = 50;
 
     /**
-     * A static constant holding the size ratio of cell size to cell interval size of current window.
+     * A boolean holding the status that whether the user opened the helper window.
      */
-    private static final int SIZE_RATIO = 8;
+    private boolean isOpenedHelper = false;
 
     /**
-     * A boolean holding the status that whether the user opened the helper window.
+     * A static {@code JFrame} holding the instance of the game window, which is created once and reused across games.
      */
-    private boolean isOpenedHelper = false;
+    private static JFrame window;
 
     /**
-     * A {@code JFrame} holding the instance of current window.
+     * A static {@code Board} holding the instance of the grid that displays guessed letters typed by the user.
      */
-    private JFrame window;
+    private static Board board;
 
     /**
-     * A {@code ArrayList} holding the instances of {@code JTextField} that displays guessed letters typed by the user.
+     * A static {@code JTextField} holding the instance of {@code JTextField} that displays the hashtag.
      */
-    private ArrayList<JTextField> fields;
+    private static JTextField hashtagBoard;
 
     /**
-     * A {@code JTextField} holding the instance of {@code JTextField} that displays hint messages.
+     * A static {@code JTextField} holding the instance of {@code JTextField} that displays the word source.
      */
-    private JTextField messageBoard;
+    private static JTextField wordSourceBoard;
 
     /**
-     * A String holding the word in the current line.
+     * A static {@code JTextField} holding the instance of {@code JTextField} that displays hint messages.
      */
-    private String currentWord;
+    private static JTextField messageBoard;
 
     /**
-     * An int holding current line number that counts from zero.
+     * A static {@code KeyAdapter} holding the keyboard listener of the game in progress, which is replaced on every
+     * new game.
      */
-    private int currentLine;
+    private static KeyAdapter keyboardListener;
 
     /**
-     * An {@code ArrayList} holding score of each confirmed input, where 0 is for grey, 1 is for yellow, 2 is for green.
+     * A {@code GameEvents.GameEnd} holding the flight recorder event of current game, which begins when the game
+     * starts.
      */
-    private ArrayList<Integer> scoreByOrder;
+    private GameEvents.GameEnd gameEndEvent;
 
     /**
      * A {@code JFrame} holding the instance of helper window.
@@ -124,22 +132,142 @@ public class Game {
     private JTextArea helperOutput;
 
     /**
-     * This method launches the game window with settings given.
+     * A static constant holding the delay in milliseconds between the last keystroke in the helper input and the
+     * start of the helper query.
+     */
+    private static final int HELPER_DEBOUNCE_DELAY = 150;
+
+    /**
+     * A static {@code ExecutorService} running helper queries off the event dispatch thread, shared by all games.
+     */
+    private static final ExecutorService HELPER_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "eWordle-helper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * An {@code AtomicInteger} holding the generation of the latest helper query, where results of older generations
+     * are discarded.
+     */
+    private final AtomicInteger helperSearchGeneration = new AtomicInteger();
+
+    /**
+     * A {@code Future} holding the helper query in flight, or null if none.
+     */
+    private Future<?> helperSearch;
+
+    /**
+     * A {@code Timer} holding the debounce timer of the helper input.
+     */
+    private Timer helperDebounceTimer;
+
+    /**
+     * A {@code GameRound} holding the state of the game in progress.
+     */
+    private GameRound currentRound;
+
+    /**
+     * A boolean holding whether the game in progress is timed.
+     */
+    private boolean speedrun;
+
+    /**
+     * A long holding the {@link System#nanoTime()} at which the first keystroke of a timed game was fired, or
+     * {@link Long#MIN_VALUE} if none is typed yet.
+     */
+    private long speedrunStartNanos = Long.MIN_VALUE;
+
+    /**
+     * A {@code Metrics.Histogram} holding the input latency of the game in progress, which is only kept if it is
+     * timed.
+     */
+    private Metrics.Histogram gameInputLatency;
+
+    /**
+     * This method launches the game window with settings given in normal mode, reusing the window of the previous game
+     * if any.
      *
      * @param wordSource a String describing the specific source type, included in <var>wordSourceOption</var>.
      * @param initWord   a String holding the word to be guessed.
      * @param hashtag    a String holding the hashtag of this game.
      */
     public void playGame(String wordSource, String initWord, String hashtag) {
-        System.out.println("jugant al joc des de la font " + wordSource + " amb la paraula inicial " + initWord + " " +
-                hashtag);
+        playGame(wordSource, initWord, hashtag, false);
+    }
+
+    /**
+     * This method launches the game window with settings given, reusing the window of the previous game if any.
+     *
+     * @param wordSource a String describing the specific source type, included in <var>wordSourceOption</var>.
+     * @param initWord   a String holding the word to be guessed.
+     * @param hashtag    a String holding the hashtag of this game.
+     * @param hardMode   a boolean describing whether every guess must reuse the letters revealed.
+     */
+    public void playGame(String wordSource, String initWord, String hashtag, boolean hardMode) {
+        playGame(wordSource, new String[]{initWord}, hashtag, hardMode);
+    }
+
+    /**
+     * This method launches the game window with one board for each word given, reusing the window of the previous
+     * game if any.
+     *
+     * @param wordSource a String describing the specific source type, included in <var>wordSourceOption</var>.
+     * @param initWords  a String array holding the distinct words to be guessed, all of the same length.
+     * @param hashtag    a String holding the hashtag of this game.
+     * @param hardMode   a boolean describing whether every guess must reuse the letters revealed, which is ignored if
+     *                   there are several boards.
+     */
+    public void playGame(String wordSource, String[] initWords, String hashtag, boolean hardMode) {
+        String initWord = String.join(",", initWords);
+        hardMode = hardMode && initWords.length == 1;
         // Initialize related variables.
-        int wordLength = initWord.length();
-        currentLine = 0;
-        currentWord = "";
-        fields = new ArrayList<>();
-        scoreByOrder = new ArrayList<>();
+        int wordLength = initWords[0].length();
+        Metrics.counter("games.started." + wordSource + "." + wordLength).increment();
+        gameEndEvent = new GameEvents.GameEnd();
+        gameEndEvent.begin();
+
+        if (window == null)
+            initWindow();
+        hashtagBoard.setText("Joc: " + hashtag);
+        speedrun = Settings.isSpeedrun();
+        speedrunStartNanos = Long.MIN_VALUE;
+        gameInputLatency = speedrun ? new Metrics.Histogram() : null;
+        wordSourceBoard.setText("Font de paraula actual: " + wordSource + (hardMode ? " (mode difícil)" : "") +
+                (initWords.length > 1 ? " (" + initWords.length + " taulers)" : "") +
+                (GameRound.isAbsurdle(initWords[0]) ? " (mode absurd)" : "") +
+                (speedrun ? " (contrarellotge)" : ""));
+        messageBoard.setText("");
+        // The number of rows of each board is wordLength plus the number of boards.
+        board.reset(initWords.length, wordLength + initWords.length, wordLength);
+        board.setGameInputLatency(gameInputLatency);
+
+        // Replace the keyboard listener of the previous game.
+        if (keyboardListener != null) {
+            window.removeKeyListener(keyboardListener);
+            hashtagBoard.removeKeyListener(keyboardListener);
+        }
+        currentRound = new GameRound(wordSource, initWords, hardMode);
+        keyboardListener = newKeyboardListener(currentRound, GameJournal.start(hashtag, wordSource, initWord,
+                hardMode));
+        window.addKeyListener(keyboardListener);
+        hashtagBoard.addKeyListener(keyboardListener);
+        HELPER_EXECUTOR.submit(() -> {
+            Service.getInstance().prepareSuggestions(wordSource, wordLength);
+            // Load the opening book, or start computing it, before the helper window asks for it.
+            Service.getInstance().getOpeningBook(wordSource, wordLength);
+        });
 
+        window.setLocationRelativeTo(null);
+        window.setVisible(true);
+        window.requestFocus();
+    }
+
+    /**
+     * This static method creates the game window and its components once, where the contents that depend on the game
+     * are later filled by {@link Game#playGame(String, String, String, boolean)}.
+     */
+    private static void initWindow() {
         // Configure window.
         window = new JFrame("eWordle");
         window.setFocusable(true);
@@ -155,7 +283,7 @@ public class Game {
         windowPanel.setLayout(null);
 
         //Add hashtag board to the current window panel.
-        JTextField hashtagBoard = Settings.textInit("Joc: " + hashtag, "Comic Sans MS",
+        hashtagBoard = Settings.textInit("", "Comic Sans MS",
                 JTextField.CENTER, Font.BOLD, CONTENT_MARGIN, 0, CONTENT_WIDTH, CONTENT_MARGIN, 15,
                 false, false);
         hashtagBoard.setForeground(Color.WHITE);
@@ -163,7 +291,7 @@ public class Game {
         windowPanel.add(hashtagBoard);
 
         //Add hashtag board to the current window panel.
-        JTextField wordSourceBoard = Settings.textInit("Font de paraula actual: " + wordSource,
+        wordSourceBoard = Settings.textInit("",
                 "Comic Sans MS", JTextField.CENTER, Font.BOLD, CONTENT_MARGIN, CONTENT_MARGIN / 2,
                 CONTENT_WIDTH, CONTENT_MARGIN, 15, false, false);
         wordSourceBoard.setForeground(Color.WHITE);
@@ -180,34 +308,22 @@ public class Game {
         messageBoard.setFocusable(false);
         windowPanel.add(messageBoard);
 
-        // Add text fields that display letter typed by the user. The number of lines of text fields is wordLength+1
-        final double smallMarginSize = 1.0 * (WINDOW_WIDTH - CONTENT_MARGIN * 2) /
-                ((SIZE_RATIO + 1) * wordLength - 1);
-        final double blockSize = smallMarginSize * SIZE_RATIO;
-        for (int row = 0; row <= wordLength; row++)
-            for (int column = 0; column < wordLength; column++) {
-                int x = (int) (CONTENT_MARGIN + column * smallMarginSize * (SIZE_RATIO + 1));
-                int y = (int) (CONTENT_MARGIN * 2 + CONTENT_HEIGHT + row * smallMarginSize * (SIZE_RATIO + 1));
-                JTextField field = Settings.textInit("", "", JTextField.CENTER, Font.BOLD, x, y,
-                        (int) blockSize, (int) blockSize, 30, true, false);
-                field.setBackground(Color.WHITE);
-                field.setFocusable(false);
-                fields.add(field);
-                windowPanel.add(field);
-            }
+        // Add the board that paints letters typed by the user.
+        board = new Board();
+        board.setBounds(CONTENT_MARGIN, CONTENT_MARGIN * 2 + CONTENT_HEIGHT, CONTENT_WIDTH,
+                WINDOW_HEIGHT - CONTENT_MARGIN * 2 - CONTENT_HEIGHT);
+        board.setFocusable(false);
+        windowPanel.add(board);
 
-        // Add helper icon.
+        // Add helper icon, which always acts on the game in progress.
         JButton helper = Settings.initButton("?", WINDOW_WIDTH - CONTENT_MARGIN,
                 WINDOW_HEIGHT - CONTENT_MARGIN, CONTENT_MARGIN, CONTENT_MARGIN, 25,
-                event -> createHelperWindow());
+                event -> {
+                    if (instance != null)
+                        instance.createHelperWindow();
+                });
         helper.setToolTipText("Assistència de llançament (s'afegirà una marca \"*\" al resultat))");
         windowPanel.add(helper);
-
-        window.addKeyListener(newKeyboardListener(initWord, wordSource));
-        hashtagBoard.addKeyListener(newKeyboardListener(initWord, wordSource));
-
-        window.setLocationRelativeTo(null);
-        window.setVisible(true);
     }
 
     /**
@@ -234,105 +350,262 @@ public class Game {
     }
 
     /**
-     * This method returns a new keyboard listener.
+     * This method returns a new keyboard listener, which feeds keys to <var>round</var> and displays the outcome.
      *
-     * @param wordSource a String describing the specific source type, included in <var>wordSourceOption</var>.
-     * @param initWord   a String holding the word to be guessed.
+     * @param round   a {@code GameRound} holding the state of the game in progress.
+     * @param journal a {@code GameJournal} recording the keys of the game, or null if recording is disabled.
      * @return a {@code KeyAdapter} processing keyboard inputs.
      */
-    private KeyAdapter newKeyboardListener(String initWord, String wordSource) {
+    private KeyAdapter newKeyboardListener(GameRound round, GameJournal journal) {
+        String initWord = round.getInitWord();
+        String wordSource = round.getWordSource();
         int wordLength = initWord.length();
         return new KeyAdapter() {
             @Override
             public void keyTyped(KeyEvent e) {
+                // The event time is on the wall clock, so only the queueing delay is taken from it.
+                long firedNanos = System.nanoTime() - Math.max(0, System.currentTimeMillis() - e.getWhen()) *
+                        1_000_000;
                 messageBoard.setText("");
-                // All possible letters will be converted to uppercase.
-                char c = Character.toUpperCase(e.getKeyChar());
-                // Typed enter.
-                if (c == '\n') {
-                    if (currentWord.length() == wordLength) {
-                        // Word guessed correct.
-                        if (currentWord.equals(initWord)) {
-                            for (int i = 0; i < initWord.length(); i++)
-                                scoreByOrder.add(2);
-                            closeHelperWindow();
-                            try {
-                                Results.getInstance().showResults(initWord, currentLine + 1, true,
-                                        scoreByOrder, isOpenedHelper);
-                            } catch (Exception ex) {
-                                ex.printStackTrace();
-                            } finally {
-                                instance = null;
-                                window.dispose();
-                            }
-                        }
-                        // Word guessed exists in word source of current difficulty level but incorrect.
-                        else if (Service.getInstance().checkExistence(currentWord, wordSource).length() == 0) {
-                            HashSet<Character> charRemainIncorrect = new HashSet<>();
-                            for (int i = 0; i < wordLength; i++)
-                                if (currentWord.charAt(i) == initWord.charAt(i))
-                                    setColor(fields.get(currentLine * wordLength + i), Color.white,
-                                            new Color(121, 167, 107));
-                                else
-                                    charRemainIncorrect.add(initWord.charAt(i));
-                            for (int i = 0; i < wordLength; i++)
-                                if (currentWord.charAt(i) != initWord.charAt(i)) {
-                                    if (charRemainIncorrect.contains(currentWord.charAt(i))) {
-                                        scoreByOrder.add(1);
-                                        setColor(fields.get(currentLine * wordLength + i), Color.white,
-                                                new Color(198, 180, 102));
-                                    } else {
-                                        scoreByOrder.add(0);
-                                        setColor(fields.get(currentLine * wordLength + i), Color.white,
-                                                new Color(121, 124, 126));
-                                    }
-                                } else
-                                    scoreByOrder.add(2);
-                            currentWord = "";
-                            // Maximum guess tries reached.
-                            if (++currentLine > wordLength) {
-                                closeHelperWindow();
-                                try {
-                                    Results.getInstance().showResults(initWord, currentLine, false, scoreByOrder,
-                                            isOpenedHelper);
-                                } catch (Exception ex) {
-                                    ex.printStackTrace();
-                                } finally {
-                                    window.dispose();
-                                }
-                            }
-                        } else
-                            messageBoard.setText("No està a la llista de paraules"); // Cambiado a Catalan
-                    } else
+                int line = round.getCurrentLine();
+                int column = round.getCurrentWord().length();
+                GameRound.Outcome outcome = round.keyTyped(e.getKeyChar());
+                if (outcome == GameRound.Outcome.ENDED)
+                    return;
+                if (speedrunStartNanos == Long.MIN_VALUE)
+                    speedrunStartNanos = firedNanos;
+                if (journal != null)
+                    journal.recordKey(e.getWhen(), e.getKeyChar());
+                switch (outcome) {
+                    case TYPED:
+                        board.setLetter(line, column, round.getCurrentWord().charAt(column));
+                        board.markInput(firedNanos);
+                        break;
+                    case ERASED:
+                        board.setLetter(line, column - 1, (char) 0);
+                        board.markInput(firedNanos);
+                        break;
+                    case SCORED:
+                        commitGuessSubmission(true, line);
+                        showScores(round, line);
+                        board.markInput(firedNanos);
+                        if (round.isAbsurdle())
+                            messageBoard.setText("Queden " + round.getCandidatesLeft() + " paraules possibles");
+                        break;
+                    case WON:
+                    case LOST:
+                        commitGuessSubmission(true, line);
+                        if (outcome == GameRound.Outcome.LOST)
+                            showScores(round, line);
+                        endGame(round, journal);
+                        break;
+                    case NOT_IN_LIST:
+                        commitGuessSubmission(false, line);
+                        messageBoard.setText(notInListMessage(
+                                Service.getInstance().suggestWords(round.getCurrentWord(), wordSource)));
+                        break;
+                    case TOO_SHORT:
+                        commitGuessSubmission(false, line);
                         messageBoard.setText("No és prou llarg");
-                }
-                // Typed letters.
-                else if ('A' <= c && c <= 'Z') {
-                    if (currentWord.length() < wordLength) {
-                        JTextField field = fields.get(currentLine * wordLength + currentWord.length());
-                        setColor(field, Color.black, Color.white);
-                        field.setText("" + c);
-                        currentWord += c;
-                    } else
+                        break;
+                    case HARD_MODE_VIOLATION:
+                        commitGuessSubmission(false, line);
+                        messageBoard.setText(round.getViolation());
+                        break;
+                    case WORD_FULL:
                         messageBoard.setText("És hora de prémer intro i/o 'enter' per confirmar"); // Cambiado a catalan
-                }
-                // Typed backspace.
-                else if (c == '\b') {
-                    if (currentWord.length() > 0) {
-                        JTextField field = fields.get(currentLine * wordLength + currentWord.length() - 1);
-                        field.setText("");
-                        setColor(field, Color.black, Color.white);
-                        currentWord = currentWord.substring(0, currentWord.length() - 1);
-                    } else
+                        break;
+                    case NOTHING_TO_ERASE:
                         messageBoard.setText("No més lletres per esborrar");
+                        break;
+                    default:
+                        messageBoard.setText("Només s'accepten lletres de l'alfabet");
                 }
-                // Illegal input.
-                else
-                    messageBoard.setText("Només s'accepten lletres de l'alfabet");
             }
         };
     }
 
+    /**
+     * This static method returns the message of a guess not in the word source, listing as many of the words
+     * suggested as fit in the message board.
+     *
+     * @param suggestions a String array holding the words suggested, nearest first.
+     * @return a String to be shown in the message board.
+     */
+    private static String notInListMessage(String[] suggestions) {
+        FontMetrics metrics = messageBoard.getFontMetrics(messageBoard.getFont());
+        for (String prefix : new String[]{"No està a la llista. Potser: ", "Potser: "})
+            for (int count = suggestions.length; count > 0; count--) {
+                String message = prefix + String.join(", ", Arrays.copyOf(suggestions, count)) + "?";
+                if (metrics.stringWidth(message) <= CONTENT_WIDTH)
+                    return message;
+            }
+        return "No està a la llista de paraules"; // Cambiado a Catalan
+    }
+
+    /**
+     * This static method paints the scores of the row given on every board scored in it, and closes the boards solved
+     * by it so that later letters typed are not shown on them.
+     *
+     * @param round a {@code GameRound} holding the state of the game in progress.
+     * @param row   an int describing the row just confirmed.
+     */
+    private static void showScores(GameRound round, int row) {
+        for (int i = 0; i < round.getBoardCount(); i++)
+            if (round.isScored(i, row)) {
+                board.setScores(i, row, round.getScores(i, row));
+                if (round.getSolvedRow(i) == row)
+                    board.closeBoard(i);
+            }
+    }
+
+    /**
+     * This method records the end of <var>round</var>, closes the game window and shows the result window.
+     *
+     * @param round   a {@code GameRound} that has just ended.
+     * @param journal a {@code GameJournal} recording the keys of the game, or null if recording is disabled.
+     */
+    private void endGame(GameRound round, GameJournal journal) {
+        String wordSource = round.getWordSource();
+        int wordLength = round.getInitWord().length();
+        boolean success = round.isSuccess();
+        int tries = round.getCurrentLine();
+        long solveNanos = speedrun ? System.nanoTime() - speedrunStartNanos : -1;
+        Metrics.counter("games." + (success ? "won." : "lost.") + wordSource + "." + wordLength).increment();
+        if (speedrun && success)
+            Metrics.histogram("speedrun.solveTime." + wordSource + "." + wordLength).record(solveNanos);
+        commitGameEnd(wordSource, wordLength, success, tries);
+        if (journal != null)
+            journal.finish(success, tries, round.getScoreByOrderOfAllBoards());
+        // The answer of an absurd game is chosen by the adversary, so it tells nothing about its difficulty.
+        if (!round.isAbsurdle())
+            for (int board = 0; board < round.getBoardCount(); board++) {
+                int solvedRow = round.getSolvedRow(board);
+                Service.getInstance().recordOutcome(round.getInitWords()[board], wordSource, solvedRow >= 0,
+                        solvedRow >= 0 ? solvedRow + 1 : round.getMaxRows(), round.getMaxRows(), isOpenedHelper);
+            }
+        closeHelperWindow();
+        try {
+            Results.getInstance().showResults(round.getInitWords(), tries, success, round.getScoresByBoard(),
+                    isOpenedHelper, solveNanos, gameInputLatency);
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        } finally {
+            if (success)
+                instance = null;
+            window.setVisible(false);
+        }
+    }
+
+    /**
+     * This method commits a guess submission event of the current row if it is enabled in the running recording.
+     *
+     * @param valid a boolean describing whether the word confirmed is accepted and scored.
+     * @param row   an int describing the row of the word confirmed.
+     */
+    private void commitGuessSubmission(boolean valid, int row) {
+        GameEvents.GuessSubmission event = new GameEvents.GuessSubmission();
+        if (event.shouldCommit()) {
+            event.valid = valid;
+            event.row = row;
+            event.commit();
+        }
+    }
+
+    /**
+     * This method commits the game end event, which began with the game, if it is enabled in the running recording.
+     *
+     * @param wordSource a String describing the word source of the game.
+     * @param wordLength an int describing the length of the word to be guessed.
+     * @param success    a boolean describing the final status of the game.
+     * @param tries      an int describing the number of tries used.
+     */
+    private void commitGameEnd(String wordSource, int wordLength, boolean success, int tries) {
+        if (gameEndEvent.shouldCommit()) {
+            gameEndEvent.source = wordSource;
+            gameEndEvent.length = wordLength;
+            gameEndEvent.success = success;
+            gameEndEvent.tries = tries;
+            gameEndEvent.helperUsed = isOpenedHelper;
+            gameEndEvent.commit();
+        }
+    }
+
+    /**
+     * This method cancels the helper query in flight, if any, so that its remaining results will be discarded.
+     */
+    private void cancelHelperSearch() {
+        helperSearchGeneration.incrementAndGet();
+        if (helperSearch != null)
+            helperSearch.cancel(true);
+        helperSearch = null;
+    }
+
+    /**
+     * This method starts a helper query on the background executor, where the best results matched so far and then
+     * the ranked result replace the helper output through {@link SwingUtilities#invokeLater(Runnable)}, as long as no
+     * newer query has started.
+     *
+     * @param helperInput a String describing the input from the helper input text field.
+     */
+    private void startHelperSearch(String helperInput) {
+        cancelHelperSearch();
+        final int generation = helperSearchGeneration.get();
+        final String wordSource = Settings.getWordSource();
+        final int wordLength = Settings.getInitWord().length();
+        helperOutput.setText("Cercant...\n");
+        helperSearch = HELPER_EXECUTOR.submit(() -> {
+            String result = Service.getInstance().validateHelperInput(helperInput, wordSource, wordLength,
+                    () -> generation != helperSearchGeneration.get() || Thread.currentThread().isInterrupted(),
+                    partial -> SwingUtilities.invokeLater(() -> showHelperResult(generation, partial)));
+            if (result == null)
+                return;
+            SwingUtilities.invokeLater(() -> showHelperResult(generation, result));
+        });
+    }
+
+    /**
+     * This method shows a partial or final helper result in the helper output, unless a newer query has started.
+     *
+     * @param generation an int describing the generation of the query.
+     * @param result     a String in the format of {@link Service#validateHelperInput(String)}.
+     */
+    private void showHelperResult(int generation, String result) {
+        if (generation != helperSearchGeneration.get())
+            return;
+        String[] response = result.split("\\$");
+        if (response[0].length() == 0)
+            helperOutput.setText(response[1]);
+        else
+            helperOutput.setText(response[0]);
+        helperOutput.setCaretPosition(0);
+    }
+
+    /**
+     * This method returns the opening book of the game in progress as shown in the helper output before any search,
+     * including the best second guess if the best first guess has been played on a single board.
+     *
+     * @return a String describing the opening book, or that it is still being computed.
+     */
+    private String openingBookText() {
+        OpeningBook book = Service.getInstance().getOpeningBook(currentRound.getWordSource(),
+                currentRound.getInitWord().length());
+        if (book == null)
+            return "S'estan calculant les millors primeres paraules, torna a obrir l'ajuda en uns segons.\n";
+        String[] openings = book.getOpenings();
+        StringBuilder text = new StringBuilder("Millors primeres paraules d'entre " + book.getWordCount() +
+                " possibles:\n");
+        for (int i = 0; i < openings.length; i++)
+            text.append(String.format("%s (en queden %.1f de mitjana)%n", openings[i], book.getExpectedRemaining(i)));
+        if (openings.length > 0 && currentRound.getBoardCount() == 1 && !currentRound.isAbsurdle() &&
+                currentRound.getCurrentLine() > 0 && currentRound.getGuess(0).equals(openings[0])) {
+            String followUp = book.getFollowUp(currentRound.getScores(0));
+            if (followUp != null)
+                text.append("\nDesprés de ").append(openings[0]).append(", prova ").append(followUp).append('\n');
+        }
+        return text.toString();
+    }
+
     /**
      * This method closes the helper window if exists.
      */
@@ -364,6 +637,9 @@ public class Game {
         helperWindow.addWindowListener(new java.awt.event.WindowAdapter() {
             @Override
             public void windowClosed(java.awt.event.WindowEvent windowEvent) {
+                if (helperDebounceTimer != null)
+                    helperDebounceTimer.stop();
+                cancelHelperSearch();
                 helperWindow = null;
             }
         });
@@ -386,22 +662,39 @@ public class Game {
                 currentHelperHeight, CONTENT_WIDTH, CONTENT_MARGIN, 20, true, true);
         helperWindowPanel.add(inputBoard);
 
+        // Search as the user types, where a new keystroke restarts the debounce timer and cancels the query in flight.
+        Timer debounceTimer = new Timer(HELPER_DEBOUNCE_DELAY, event -> startHelperSearch(inputBoard.getText()));
+        debounceTimer.setRepeats(false);
+        helperDebounceTimer = debounceTimer;
+        inputBoard.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                cancelHelperSearch();
+                debounceTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                cancelHelperSearch();
+                debounceTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+
         // Add search button.
         currentHelperHeight += CONTENT_MARGIN + CONTENT_MARGIN;
         JButton helperButton = Settings.initButton("Cerca", CONTENT_MARGIN,
                 currentHelperHeight, CONTENT_WIDTH, CONTENT_MARGIN, 20,
                 event -> {
                     // Handle search.
-                    String[] response = Service.getInstance().validateHelperInput(inputBoard.getText()).
-                            split("\\$");
-                    if (response[0].length() == 0)
-                        helperOutput.setText(response[1]);
-                    else
-                        helperOutput.setText(response[0]);
-                    helperOutput.setCaretPosition(0);
+                    debounceTimer.stop();
+                    startHelperSearch(inputBoard.getText());
                 });
         helperButton.setToolTipText(
-                "Cerca candidats en la font de paraules actual. MOSTRA PREDETERMINADA: *****(ESS*), G*E**(SU), *****(ESS*)[AB]");
+                "Cerca candidats en la font de paraules actual. MOSTRA PREDETERMINADA: *****(ESS*), G*E**(SU), *****(ESS*)[AB], *****(E*){E2}<S>");
         helperWindowPanel.add(helperButton);
 
         // Add helper output text field.
@@ -414,6 +707,8 @@ public class Game {
         scrollPane.setBounds(CONTENT_MARGIN, currentHelperHeight, CONTENT_WIDTH, helperOutputHeight);
         helperWindowPanel.add(scrollPane);
 
+        helperOutput.setText(openingBookText());
+
         helperWindow.add(helperWindowPanel);
         helperWindow.pack();
         helperWindow.setVisible(true);
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The {@code GameEvents} class holds the custom Java Flight Recorder events emitted by {@code Service} and
+ * {@code Game}, so that GC pauses and event dispatch thread stalls can be correlated with player actions in a flight
+ * recording.
+ *
+ * <p>
+ * Callers should create an event, fill its fields only if {@link Event#shouldCommit()} returns true, and then commit
+ * it. When no recording is running, the check is constant false and the allocation is eliminated by the JIT compiler,
+ * so the events cost nothing.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class GameEvents {
+    /**
+     * The {@code DictionaryShardLoad} event is emitted once for each word length of a word source loaded.
+     */
+    @Name("eWordle.DictionaryShardLoad")
+    @Label("Dictionary Shard Load")
+    @Category("eWordle")
+    @Description("Words of one word source and one word length loaded")
+    @StackTrace(false)
+    public static class DictionaryShardLoad extends Event {
+        @Label("Word Source")
+        public String source;
+
+        @Label("Word Length")
+        public int length;
+
+        @Label("Word Count")
+        public int wordCount;
+
+        @Label("Word Bytes")
+        @Description("UTF-8 size of the words of the shard")
+        @DataAmount
+        public long bytes;
+    }
+
+    /**
+     * The {@code HelperSearch} event is emitted for each helper query answered, whose duration covers compiling and
+     * scanning.
+     */
+    @Name("eWordle.HelperSearch")
+    @Label("Helper Search")
+    @Category("eWordle")
+    @StackTrace(false)
+    public static class HelperSearch extends Event {
+        @Label("Pattern")
+        public String pattern;
+
+        @Label("Word Source")
+        public String source;
+
+        @Label("Result Count")
+        @Description("Number of matched words, or -1 if the input is invalid")
+        public int resultCount;
+
+        @Label("Cached")
+        public boolean cached;
+    }
+
+    /**
+     * The {@code GuessSubmission} event is emitted each time the user confirms a word with enter.
+     */
+    @Name("eWordle.GuessSubmission")
+    @Label("Guess Submission")
+    @Category("eWordle")
+    @StackTrace(false)
+    public static class GuessSubmission extends Event {
+        @Label("Valid")
+        @Description("Whether the word is accepted and scored")
+        public boolean valid;
+
+        @Label("Row")
+        @Description("Row of the board, counting from zero")
+        public int row;
+    }
+
+    /**
+     * The {@code GameEnd} event is emitted once a game ends, whose duration covers the whole game.
+     */
+    @Name("eWordle.GameEnd")
+    @Label("Game End")
+    @Category("eWordle")
+    @StackTrace(false)
+    public static class GameEnd extends Event {
+        @Label("Word Source")
+        public String source;
+
+        @Label("Word Length")
+        public int length;
+
+        @Label("Success")
+        public boolean success;
+
+        @Label("Tries")
+        public int tries;
+
+        @Label("Helper Used")
+        public boolean helperUsed;
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code GameJournal} class records the keys processed by a game into a compact binary journal, together with the
+ * hashtag, the word, the dictionary fingerprint and the final result, so that the game can later be replayed by
+ * {@code JournalReplayer}.
+ *
+ * <p>
+ * Journals are only recorded if the system property {@link GameJournal#DIRECTORY_PROPERTY} names the directory where
+ * they should be written. The layout is a header ({@code int} magic, hashtag, word source and word in modified UTF-8,
+ * hard mode, {@code long} dictionary fingerprint and start time), followed by the number of keys and each key as a
+ * varint delay in milliseconds since the previous key and a varint char, and finally the result (success, tries and
+ * scores packed four per byte). Games with several boards keep their words separated by commas, and the scores of
+ * every board one after another.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class GameJournal {
+    /**
+     * A static constant holding the system property that enables recording and names the journal directory.
+     */
+    public static final String DIRECTORY_PROPERTY = "eWordle.journalDir";
+
+    /**
+     * A static constant holding the file extension of journals.
+     */
+    public static final String EXTENSION = ".ewj";
+
+    /**
+     * A static constant holding the magic number ("EWJ2") at the beginning of every journal.
+     */
+    private static final int MAGIC = 0x45574A32;
+
+    /**
+     * A static constant holding the magic number ("EWJ1") of journals recorded before the game mode was kept, which
+     * are read as normal mode.
+     */
+    private static final int MAGIC_V1 = 0x45574A31;
+
+    /**
+     * A static {@code ExecutorService} writing finished journals off the event dispatch thread.
+     */
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "eWordle-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A String holding the hashtag of the game.
+     */
+    private final String hashtag;
+
+    /**
+     * A String holding the word source of the game.
+     */
+    private final String wordSource;
+
+    /**
+     * A String holding the word to be guessed, or the words of every board separated by commas.
+     */
+    private final String initWord;
+
+    /**
+     * A boolean holding the status that whether the game was in hard mode.
+     */
+    private final boolean hardMode;
+
+    /**
+     * A long holding the fingerprint of the dictionary of <var>wordSource</var> when the game was played, together
+     * with the difficulty overlay, see {@link Service#getGameFingerprint(String, int)}.
+     */
+    private final long dictionaryFingerprint;
+
+    /**
+     * A long holding the wall-clock time in milliseconds when the game started.
+     */
+    private final long startMillis;
+
+    /**
+     * A {@code StringBuilder} holding the keys processed in order.
+     */
+    private final StringBuilder keys = new StringBuilder();
+
+    /**
+     * An {@code ArrayList} holding the delay in milliseconds of each key since the previous one.
+     */
+    private final ArrayList<Long> delays = new ArrayList<>();
+
+    /**
+     * A long holding the time of the last key recorded.
+     */
+    private long lastMillis;
+
+    /**
+     * A boolean holding the final status of the game.
+     */
+    private boolean isSuccess;
+
+    /**
+     * An int holding the number of tries used.
+     */
+    private int tries;
+
+    /**
+     * An {@code ArrayList} holding score of each confirmed input, where 0 is for grey, 1 is for yellow, 2 is for green.
+     */
+    private final ArrayList<Integer> scoreByOrder = new ArrayList<>();
+
+    /**
+     * The only constructor for class {@code GameJournal}.
+     */
+    private GameJournal(String hashtag, String wordSource, String initWord, boolean hardMode,
+                        long dictionaryFingerprint, long startMillis) {
+        this.hashtag = hashtag;
+        this.wordSource = wordSource;
+        this.initWord = initWord;
+        this.hardMode = hardMode;
+        this.dictionaryFingerprint = dictionaryFingerprint;
+        this.startMillis = startMillis;
+        this.lastMillis = startMillis;
+    }
+
+    /**
+     * Returns a new journal for a game starting now, or null if recording is disabled.
+     *
+     * @param hashtag    a String holding the hashtag of the game.
+     * @param wordSource a String describing the word source of the game.
+     * @param initWord   a String holding the word to be guessed, or the words of every board separated by commas.
+     * @param hardMode   a boolean describing whether the game is in hard mode.
+     * @return a {@code GameJournal}, or null if {@link GameJournal#DIRECTORY_PROPERTY} is not set.
+     */
+    public static GameJournal start(String hashtag, String wordSource, String initWord, boolean hardMode) {
+        if (System.getProperty(DIRECTORY_PROPERTY) == null)
+            return null;
+        return new GameJournal(hashtag, wordSource, initWord, hardMode,
+                Service.getInstance().getGameFingerprint(wordSource, initWord.split(",")[0].length()),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * This method records a key processed by the game.
+     *
+     * @param whenMillis a long holding the time of the key, e.g. {@code KeyEvent.getWhen()}.
+     * @param keyChar    a char describing the key as typed.
+     */
+    public void recordKey(long whenMillis, char keyChar) {
+        delays.add(Math.max(0, whenMillis - lastMillis));
+        lastMillis = Math.max(lastMillis, whenMillis);
+        keys.append(keyChar);
+    }
+
+    /**
+     * This method records the result of the game and writes the journal in the background.
+     *
+     * @param isSuccess    a boolean describing the final status of the game.
+     * @param tries        an int describing the number of tries used.
+     * @param scoreByOrder a {@code List} holding score of each confirmed input.
+     */
+    public void finish(boolean isSuccess, int tries, List<Integer> scoreByOrder) {
+        this.isSuccess = isSuccess;
+        this.tries = tries;
+        this.scoreByOrder.addAll(scoreByOrder);
+        Path directory = Paths.get(System.getProperty(DIRECTORY_PROPERTY));
+        String fileName = startMillis + "-" + hashtag.replaceAll("[^0-9A-Za-z]", "") + EXTENSION;
+        WRITER.execute(() -> {
+            try {
+                Files.createDirectories(directory);
+                write(directory.resolve(fileName));
+            } catch (IOException e) {
+                System.err.println("Error desant el diari de joc: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * This method writes current journal to the file given.
+     *
+     * @param path a {@code Path} of the file to be written.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeUTF(hashtag);
+            out.writeUTF(wordSource);
+            out.writeUTF(initWord);
+            out.writeBoolean(hardMode);
+            out.writeLong(dictionaryFingerprint);
+            out.writeLong(startMillis);
+            writeVarint(out, keys.length());
+            for (int i = 0; i < keys.length(); i++) {
+                writeVarint(out, delays.get(i));
+                writeVarint(out, keys.charAt(i));
+            }
+            out.writeBoolean(isSuccess);
+            writeVarint(out, tries);
+            writeVarint(out, scoreByOrder.size());
+            for (int i = 0; i < scoreByOrder.size(); i += 4) {
+                int packed = 0;
+                for (int j = 0; j < 4 && i + j < scoreByOrder.size(); j++)
+                    packed |= scoreByOrder.get(i + j) << (j * 2);
+                out.writeByte(packed);
+            }
+        }
+    }
+
+    /**
+     * Returns the journal read from the file given.
+     *
+     * @param path a {@code Path} of a journal file.
+     * @return a {@code GameJournal} holding the keys and the result recorded.
+     * @throws IOException if the file cannot be read or is not a journal.
+     */
+    public static GameJournal read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int magic = in.readInt();
+            if (magic != MAGIC && magic != MAGIC_V1)
+                throw new IOException("No és un diari de joc: " + path);
+            GameJournal journal = new GameJournal(in.readUTF(), in.readUTF(), in.readUTF(),
+                    magic != MAGIC_V1 && in.readBoolean(), in.readLong(), in.readLong());
+            long keyCount = readVarint(in);
+            for (long i = 0; i < keyCount; i++) {
+                long delay = readVarint(in);
+                journal.recordKey(journal.lastMillis + delay, (char) readVarint(in));
+            }
+            journal.isSuccess = in.readBoolean();
+            journal.tries = (int) readVarint(in);
+            long scoreCount = readVarint(in);
+            for (int i = 0; i < scoreCount; i += 4) {
+                int packed = in.readUnsignedByte();
+                for (int j = 0; j < 4 && i + j < scoreCount; j++)
+                    journal.scoreByOrder.add((packed >>> (j * 2)) & 3);
+            }
+            return journal;
+        }
+    }
+
+    /**
+     * This static method writes a non-negative long in 7-bit groups, least significant first.
+     */
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * This static method reads a long written by {@link GameJournal#writeVarint(DataOutputStream, long)}.
+     */
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int current = in.readUnsignedByte();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0)
+                return value;
+        }
+    }
+
+    /**
+     * Returns the hashtag of the game.
+     *
+     * @return a String holding the hashtag.
+     */
+    public String getHashtag() {
+        return hashtag;
+    }
+
+    /**
+     * Returns the word source of the game.
+     *
+     * @return a String describing the word source.
+     */
+    public String getWordSource() {
+        return wordSource;
+    }
+
+    /**
+     * Returns the word to be guessed.
+     *
+     * @return a String holding the word to be guessed, or the words of every board separated by commas.
+     */
+    public String getInitWord() {
+        return initWord;
+    }
+
+    /**
+     * Returns whether the game was in hard mode.
+     *
+     * @return true if the game was in hard mode.
+     */
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    /**
+     * Returns the fingerprint of the dictionary when the game was played.
+     *
+     * @return a long comparable with {@link Service#getGameFingerprint(String, int)}.
+     */
+    public long getDictionaryFingerprint() {
+        return dictionaryFingerprint;
+    }
+
+    /**
+     * Returns the keys processed in order.
+     *
+     * @return a String holding one char per key.
+     */
+    public String getKeys() {
+        return keys.toString();
+    }
+
+    /**
+     * Returns the delay of each key since the previous one.
+     *
+     * @return a {@code List} of delays in milliseconds.
+     */
+    public List<Long> getDelays() {
+        return delays;
+    }
+
+    /**
+     * Returns the final status of the game.
+     *
+     * @return true if the game was won.
+     */
+    public boolean isSuccess() {
+        return isSuccess;
+    }
+
+    /**
+     * Returns the number of tries used.
+     *
+     * @return an int describing the number of tries used.
+     */
+    public int getTries() {
+        return tries;
+    }
+
+    /**
+     * Returns score of each confirmed input of every board in order.
+     *
+     * @return a {@code List} where 0 is for grey, 1 is for yellow, 2 is for green.
+     */
+    public List<Integer> getScoreByOrder() {
+        return scoreByOrder;
+    }
+}
@@ -0,0 +1,691 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The {@code GameRound} class holds the state and the rules of one game without any window, so that the same logic
+ * serves the game window, journal replays and simulated players.
+ *
+ * <p>
+ * A game may have several boards, each with its own word to be guessed, where every guess is scored against all the
+ * boards not solved yet and the number of rows grows with the number of boards. Hard mode only applies to games with
+ * a single board.
+ *
+ * <p>
+ * An absurd game, whose word is {@link GameRound#ABSURDLE_LETTER} repeated, never commits to an answer: every guess
+ * is scored by an {@link Absurdle} adversary over all the words of the source and length, and the game is won only
+ * once a single candidate is left and guessed.
+ *
+ * <p>
+ * Keys are fed one by one through {@link GameRound#keyTyped(char)}, which returns an {@link Outcome} describing what
+ * happened, so that the caller decides how to display it.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class GameRound {
+    /**
+     * The {@code Outcome} enum lists the results of a key typed.
+     */
+    public enum Outcome {
+        /**
+         * A letter has been appended to the current word.
+         */
+        TYPED,
+        /**
+         * The last letter of the current word has been erased.
+         */
+        ERASED,
+        /**
+         * The current word has been scored and the game goes on.
+         */
+        SCORED,
+        /**
+         * The current word solves the last board and the game is won.
+         */
+        WON,
+        /**
+         * The current word has been scored and no tries remain, so the game is lost.
+         */
+        LOST,
+        /**
+         * The current word is not in the word source of current difficulty level.
+         */
+        NOT_IN_LIST,
+        /**
+         * The current word is too short to be confirmed.
+         */
+        TOO_SHORT,
+        /**
+         * The current word ignores a letter revealed in hard mode, see {@link GameRound#getViolation()}.
+         */
+        HARD_MODE_VIOLATION,
+        /**
+         * The current word is full and should be confirmed.
+         */
+        WORD_FULL,
+        /**
+         * No letter remains to be erased.
+         */
+        NOTHING_TO_ERASE,
+        /**
+         * The key is not a letter, enter or backspace.
+         */
+        ILLEGAL,
+        /**
+         * The game has already ended.
+         */
+        ENDED
+    }
+
+    /**
+     * A static constant holding the letter repeated in the word of an absurd game, as unknown as in helper patterns.
+     */
+    public static final char ABSURDLE_LETTER = '*';
+
+    /**
+     * An {@code Absurdle} holding the adversary of an absurd game, or null otherwise.
+     */
+    private final Absurdle adversary;
+
+    /**
+     * A String array holding the word to be guessed of each board, where an absurd game holds its first candidate
+     * left.
+     */
+    private final String[] initWords;
+
+    /**
+     * A String holding the word source of the game.
+     */
+    private final String wordSource;
+
+    /**
+     * An int holding the length of the words to be guessed.
+     */
+    private final int wordLength;
+
+    /**
+     * An int holding the number of rows available, which is the word length plus the number of boards.
+     */
+    private final int maxRows;
+
+    /**
+     * An int array holding the row where each board was solved, or -1 if it is not solved yet.
+     */
+    private final int[] solvedRows;
+
+    /**
+     * An int holding the number of boards solved.
+     */
+    private int solvedCount = 0;
+
+    /**
+     * A String holding the word in the current line.
+     */
+    private String currentWord = "";
+
+    /**
+     * An int holding current line number that counts from zero.
+     */
+    private int currentLine = 0;
+
+    /**
+     * An {@code ArrayList} holding, for each board, score of each confirmed input until the board is solved, where 0
+     * is for grey, 1 is for yellow, 2 is for green.
+     */
+    private final ArrayList<ArrayList<Integer>> scoresByBoard = new ArrayList<>();
+
+    /**
+     * An {@code ArrayList} holding the word of each confirmed input.
+     */
+    private final ArrayList<String> guesses = new ArrayList<>();
+
+    /**
+     * An int array holding the scores of the last guess, reused across rows.
+     */
+    private final int[] rowScores;
+
+    /**
+     * A boolean holding the status that whether every guess must reuse the letters revealed.
+     */
+    private final boolean hardMode;
+
+    /**
+     * An int holding the bitmask of positions whose green letter has been revealed, used only in hard mode.
+     */
+    private int greenMask = 0;
+
+    /**
+     * A char array holding the green letter revealed at each position of <var>greenMask</var>.
+     */
+    private final char[] greenLetters;
+
+    /**
+     * An int holding the bitmask of letters (bit 0 for {@code A}) that every guess must contain.
+     */
+    private int requiredMask = 0;
+
+    /**
+     * An int array holding the minimum occurrence of each letter revealed green or yellow in a single row.
+     */
+    private final int[] requiredCounts = new int[26];
+
+    /**
+     * An int array holding the occurrence of each letter in the word to be guessed, used only in hard mode.
+     */
+    private final int[] answerCounts = new int[26];
+
+    /**
+     * A String holding the reason of the last {@link Outcome#HARD_MODE_VIOLATION}.
+     */
+    private String violation = "";
+
+    /**
+     * A boolean holding the status that whether the game has ended.
+     */
+    private boolean isEnded = false;
+
+    /**
+     * A boolean holding the status that whether the game has been won.
+     */
+    private boolean isSuccess = false;
+
+    /**
+     * Creates a game in normal mode.
+     *
+     * @param wordSource a String describing the word source of the game.
+     * @param initWord   a String holding the uppercase word to be guessed.
+     */
+    public GameRound(String wordSource, String initWord) {
+        this(wordSource, initWord, false);
+    }
+
+    /**
+     * Creates a game in the mode given.
+     *
+     * @param wordSource a String describing the word source of the game.
+     * @param initWord   a String holding the uppercase word to be guessed.
+     * @param hardMode   a boolean describing whether every guess must reuse the letters revealed.
+     */
+    public GameRound(String wordSource, String initWord, boolean hardMode) {
+        this(wordSource, new String[]{initWord}, hardMode);
+    }
+
+    /**
+     * Creates a game with one board for each word given.
+     *
+     * @param wordSource a String describing the word source of the game.
+     * @param initWords  a String array holding the distinct uppercase words to be guessed, all of the same length.
+     * @param hardMode   a boolean describing whether every guess must reuse the letters revealed, which is ignored if
+     *                   there are several boards.
+     */
+    public GameRound(String wordSource, String[] initWords, boolean hardMode) {
+        this.wordSource = wordSource;
+        this.initWords = initWords.clone();
+        this.wordLength = initWords[0].length();
+        this.maxRows = wordLength + initWords.length;
+        if (initWords.length == 1 && isAbsurdle(initWords[0])) {
+            String[] candidates = Service.getInstance().getCandidateWords(wordLength, wordSource);
+            if (candidates.length == 0)
+                throw new IllegalStateException("No candidates for " + wordSource + " of length " + wordLength);
+            this.adversary = new Absurdle(candidates);
+            this.initWords[0] = adversary.getAnswer();
+        } else
+            this.adversary = null;
+        this.hardMode = hardMode && initWords.length == 1 && adversary == null;
+        this.greenLetters = new char[wordLength];
+        this.rowScores = new int[wordLength];
+        this.solvedRows = new int[initWords.length];
+        Arrays.fill(solvedRows, -1);
+        for (int board = 0; board < initWords.length; board++)
+            scoresByBoard.add(new ArrayList<>());
+        for (int i = 0; i < wordLength; i++)
+            if ('A' <= initWords[0].charAt(i) && initWords[0].charAt(i) <= 'Z')
+                answerCounts[initWords[0].charAt(i) - 'A']++;
+    }
+
+    /**
+     * Returns the outcome of a key typed by the user, updating the state accordingly.
+     *
+     * @param keyChar a char describing the key typed, where letters may be in any case.
+     * @return an {@code Outcome} describing what happened.
+     */
+    public Outcome keyTyped(char keyChar) {
+        if (isEnded)
+            return Outcome.ENDED;
+        // All possible letters will be converted to uppercase.
+        char c = Character.toUpperCase(keyChar);
+        // Typed enter.
+        if (c == '\n') {
+            if (currentWord.length() != wordLength)
+                return Outcome.TOO_SHORT;
+            // A word to be guessed is always accepted, otherwise it must exist in the word source.
+            if (adversary != null || !isUnsolvedWord(currentWord)) {
+                if (hardMode && !checkHardMode(currentWord))
+                    return Outcome.HARD_MODE_VIOLATION;
+                if (Service.getInstance().checkExistence(currentWord, wordSource).length() != 0)
+                    return Outcome.NOT_IN_LIST;
+            }
+            // Score the guess against every board not solved yet.
+            char[] guess = currentWord.toCharArray();
+            for (int board = 0; board < initWords.length; board++) {
+                if (solvedRows[board] >= 0)
+                    continue;
+                int greens;
+                if (adversary != null) {
+                    greens = adversary.guess(guess, rowScores);
+                    initWords[board] = adversary.getAnswer();
+                } else
+                    greens = scoreInto(guess, initWords[board], rowScores);
+                ArrayList<Integer> scoreByOrder = scoresByBoard.get(board);
+                for (int score : rowScores)
+                    scoreByOrder.add(score);
+                if (greens == wordLength) {
+                    solvedRows[board] = currentLine;
+                    solvedCount++;
+                }
+                if (hardMode)
+                    reveal(currentWord, rowScores);
+            }
+            guesses.add(currentWord);
+            currentWord = "";
+            currentLine++;
+            if (solvedCount == initWords.length) {
+                isEnded = true;
+                isSuccess = true;
+                return Outcome.WON;
+            }
+            // Maximum guess tries reached.
+            if (currentLine >= maxRows) {
+                isEnded = true;
+                return Outcome.LOST;
+            }
+            return Outcome.SCORED;
+        }
+        // Typed letters.
+        if ('A' <= c && c <= 'Z') {
+            if (currentWord.length() >= wordLength)
+                return Outcome.WORD_FULL;
+            currentWord += c;
+            return Outcome.TYPED;
+        }
+        // Typed backspace.
+        if (c == '\b') {
+            if (currentWord.length() == 0)
+                return Outcome.NOTHING_TO_ERASE;
+            currentWord = currentWord.substring(0, currentWord.length() - 1);
+            return Outcome.ERASED;
+        }
+        // Illegal input.
+        return Outcome.ILLEGAL;
+    }
+
+    /**
+     * This static method returns the word of an absurd game of the length given.
+     *
+     * @param wordLength an int describing the length of the words guessed.
+     * @return a String holding {@link GameRound#ABSURDLE_LETTER} repeated <var>wordLength</var> times.
+     */
+    public static String absurdleWord(int wordLength) {
+        return String.valueOf(ABSURDLE_LETTER).repeat(wordLength);
+    }
+
+    /**
+     * This static method returns whether the word given is the word of an absurd game.
+     *
+     * @param initWord a String holding the word to be guessed.
+     * @return true if <var>initWord</var> starts with {@link GameRound#ABSURDLE_LETTER}.
+     */
+    public static boolean isAbsurdle(String initWord) {
+        return initWord.length() > 0 && initWord.charAt(0) == ABSURDLE_LETTER;
+    }
+
+    /**
+     * Returns whether <var>word</var> is the word to be guessed of a board not solved yet.
+     *
+     * @param word an uppercase String with the length of the words to be guessed.
+     * @return true if <var>word</var> solves a board.
+     */
+    private boolean isUnsolvedWord(String word) {
+        for (int board = 0; board < initWords.length; board++)
+            if (solvedRows[board] < 0 && initWords[board].equals(word))
+                return true;
+        return false;
+    }
+
+    /**
+     * Returns whether <var>guess</var> reuses every green letter in place and contains every letter revealed so far,
+     * setting {@link GameRound#getViolation()} otherwise. The cost does not depend on the number of rows played.
+     *
+     * @param guess an uppercase String with the length of the word to be guessed.
+     * @return true if <var>guess</var> is allowed in hard mode.
+     */
+    private boolean checkHardMode(String guess) {
+        for (int mask = greenMask; mask != 0; mask &= mask - 1) {
+            int position = Integer.numberOfTrailingZeros(mask);
+            if (guess.charAt(position) != greenLetters[position]) {
+                violation = "La lletra " + (position + 1) + " ha de ser " + greenLetters[position];
+                return false;
+            }
+        }
+        if (requiredMask == 0)
+            return true;
+        int[] counts = new int[26];
+        for (int i = 0; i < wordLength; i++)
+            counts[guess.charAt(i) - 'A']++;
+        for (int mask = requiredMask; mask != 0; mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            if (counts[letter] < requiredCounts[letter]) {
+                violation = "Ha de contenir " + (requiredCounts[letter] > 1 ? requiredCounts[letter] + " " : "") +
+                        "la lletra " + (char) ('A' + letter);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method accumulates the letters revealed by a scored row into the hard mode constraints.
+     *
+     * @param guess  an uppercase String scored.
+     * @param scores an int array holding the score of each position of <var>guess</var>.
+     */
+    private void reveal(String guess, int[] scores) {
+        int[] counts = new int[26];
+        for (int i = 0; i < wordLength; i++) {
+            if (scores[i] == 0)
+                continue;
+            int letter = guess.charAt(i) - 'A';
+            counts[letter]++;
+            if (scores[i] == 2) {
+                greenMask |= 1 << i;
+                greenLetters[i] = guess.charAt(i);
+            }
+        }
+        // Yellow letters are not limited by their occurrences in scoring, so the answer bounds what a row reveals.
+        for (int letter = 0; letter < 26; letter++) {
+            counts[letter] = Math.min(counts[letter], answerCounts[letter]);
+            if (counts[letter] > requiredCounts[letter]) {
+                requiredCounts[letter] = counts[letter];
+                requiredMask |= 1 << letter;
+            }
+        }
+    }
+
+    /**
+     * This static method returns the score of each letter of <var>guess</var> against <var>answer</var>, where a
+     * letter not in the right position is yellow if it appears in any position of <var>answer</var> that is not
+     * guessed right.
+     *
+     * @param guess  an uppercase String guessed.
+     * @param answer an uppercase String to be guessed, with the same length of <var>guess</var>.
+     * @return an int array holding the score of each position, where 0 is for grey, 1 is for yellow, 2 is for green.
+     */
+    public static int[] score(String guess, String answer) {
+        int[] scores = new int[answer.length()];
+        scoreInto(guess.toCharArray(), answer, scores);
+        return scores;
+    }
+
+    /**
+     * This static method writes the score of each letter of <var>guess</var> against <var>answer</var> into
+     * <var>scores</var>, as described in {@link GameRound#score(String, String)}, where the letters not guessed right
+     * are kept as a 26-bit mask instead of a set so that scoring many boards allocates nothing.
+     *
+     * @param guess  a char array holding the uppercase letters guessed.
+     * @param answer an uppercase String to be guessed, with the same length of <var>guess</var>.
+     * @param scores an int array receiving the score of each position.
+     * @return an int describing the number of green letters.
+     */
+    private static int scoreInto(char[] guess, String answer, int[] scores) {
+        int greens = 0;
+        int remainingMask = 0;
+        for (int i = 0; i < guess.length; i++) {
+            char letter = answer.charAt(i);
+            if (guess[i] == letter) {
+                scores[i] = 2;
+                greens++;
+            } else {
+                scores[i] = 0;
+                remainingMask |= letterBit(letter);
+            }
+        }
+        for (int i = 0; i < guess.length; i++)
+            if (scores[i] == 0 && (remainingMask & letterBit(guess[i])) != 0)
+                scores[i] = 1;
+        return greens;
+    }
+
+    /**
+     * This static method returns the bit of an uppercase letter, or 0 for any other char (e.g. accented letters,
+     * which cannot be typed).
+     */
+    private static int letterBit(char letter) {
+        return 'A' <= letter && letter <= 'Z' ? 1 << (letter - 'A') : 0;
+    }
+
+    /**
+     * Returns the word confirmed in the row given.
+     *
+     * @param row an int describing a row that has been confirmed.
+     * @return an uppercase String.
+     */
+    public String getGuess(int row) {
+        return guesses.get(row);
+    }
+
+    /**
+     * Returns the scores of the row given of the first board.
+     *
+     * @param row an int describing a row that has been confirmed.
+     * @return an int array holding the score of each position of <var>row</var>.
+     */
+    public int[] getScores(int row) {
+        return getScores(0, row);
+    }
+
+    /**
+     * Returns the scores of the row given of the board given.
+     *
+     * @param board an int describing the board counting from zero.
+     * @param row   an int describing a row that has been scored on <var>board</var>, see
+     *              {@link GameRound#isScored(int, int)}.
+     * @return an int array holding the score of each position of <var>row</var>.
+     */
+    public int[] getScores(int board, int row) {
+        int[] scores = new int[wordLength];
+        for (int i = 0; i < wordLength; i++)
+            scores[i] = scoresByBoard.get(board).get(row * wordLength + i);
+        return scores;
+    }
+
+    /**
+     * Returns whether the row given has been scored on the board given, i.e. it is confirmed and the board was not
+     * solved before it.
+     *
+     * @param board an int describing the board counting from zero.
+     * @param row   an int describing a row.
+     * @return true if <var>row</var> holds scores on <var>board</var>.
+     */
+    public boolean isScored(int board, int row) {
+        return row < currentLine && (solvedRows[board] < 0 || row <= solvedRows[board]);
+    }
+
+    /**
+     * Returns the row where the board given was solved.
+     *
+     * @param board an int describing the board counting from zero.
+     * @return an int describing the row, or -1 if the board is not solved yet.
+     */
+    public int getSolvedRow(int board) {
+        return solvedRows[board];
+    }
+
+    /**
+     * Returns whether the game is absurd.
+     *
+     * @return true if the game never commits to an answer.
+     */
+    public boolean isAbsurdle() {
+        return adversary != null;
+    }
+
+    /**
+     * Returns the number of words still possible in an absurd game.
+     *
+     * @return an int describing the number of candidates left, or 1 if the game is not absurd.
+     */
+    public int getCandidatesLeft() {
+        return adversary == null ? 1 : adversary.getRemaining();
+    }
+
+    /**
+     * Returns the number of boards.
+     *
+     * @return an int describing the number of words to be guessed.
+     */
+    public int getBoardCount() {
+        return initWords.length;
+    }
+
+    /**
+     * Returns the number of rows available.
+     *
+     * @return an int describing the word length plus the number of boards.
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Returns the word to be guessed of the first board.
+     *
+     * @return a String holding the word to be guessed.
+     */
+    public String getInitWord() {
+        return initWords[0];
+    }
+
+    /**
+     * Returns the word to be guessed of every board.
+     *
+     * @return a String array holding the words to be guessed.
+     */
+    public String[] getInitWords() {
+        return initWords.clone();
+    }
+
+    /**
+     * Returns the word source of the game.
+     *
+     * @return a String describing the word source.
+     */
+    public String getWordSource() {
+        return wordSource;
+    }
+
+    /**
+     * Returns the word in the current line.
+     *
+     * @return a String holding the letters typed but not confirmed.
+     */
+    public String getCurrentWord() {
+        return currentWord;
+    }
+
+    /**
+     * Returns current line number, which also equals to the number of tries used.
+     *
+     * @return an int counting from zero.
+     */
+    public int getCurrentLine() {
+        return currentLine;
+    }
+
+    /**
+     * Returns the score of each confirmed input of the first board.
+     *
+     * @return an {@code ArrayList} where 0 is for grey, 1 is for yellow, 2 is for green.
+     */
+    public ArrayList<Integer> getScoreByOrder() {
+        return scoresByBoard.get(0);
+    }
+
+    /**
+     * Returns the score of each confirmed input of every board.
+     *
+     * @return an {@code ArrayList} holding one {@code ArrayList} of scores for each board.
+     */
+    public ArrayList<ArrayList<Integer>> getScoresByBoard() {
+        return scoresByBoard;
+    }
+
+    /**
+     * Returns the score of each confirmed input of every board in order, which equals to
+     * {@link GameRound#getScoreByOrder()} if there is one board.
+     *
+     * @return an {@code ArrayList} where 0 is for grey, 1 is for yellow, 2 is for green.
+     */
+    public ArrayList<Integer> getScoreByOrderOfAllBoards() {
+        ArrayList<Integer> scores = new ArrayList<>();
+        for (ArrayList<Integer> scoreByOrder : scoresByBoard)
+            scores.addAll(scoreByOrder);
+        return scores;
+    }
+
+    /**
+     * Returns whether every guess must reuse the letters revealed.
+     *
+     * @return true if the game is in hard mode.
+     */
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    /**
+     * Returns the reason of the last {@link Outcome#HARD_MODE_VIOLATION}.
+     *
+     * @return a String describing the letter ignored.
+     */
+    public String getViolation() {
+        return violation;
+    }
+
+    /**
+     * Returns whether the game has ended.
+     *
+     * @return true if the game is won or lost.
+     */
+    public boolean isEnded() {
+        return isEnded;
+    }
+
+    /**
+     * Returns whether the game has been won.
+     *
+     * @return true if the word has been guessed.
+     */
+    public boolean isSuccess() {
+        return isSuccess;
+    }
+}
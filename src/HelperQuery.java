@@ -0,0 +1,451 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The {@code HelperQuery} class holds an immutable, compiled form of the helper input, where the constraints are
+ * normalized so that equivalent inputs (for example {@code *****(SSE*)[BA]} and {@code *****(ESS*)[AB]}) share the same
+ * {@link HelperQuery#getNormalized()} representation.
+ *
+ * <p>
+ * Besides the pattern, "()" and "[]", letters followed by positions inside "{}" must not appear at those positions
+ * (for example {@code {E2}}, as a yellow E in the second column tells), and letters inside "&lt;&gt;" must appear
+ * exactly as many times as listed in the whole word (for example {@code <S>} for exactly one S).
+ *
+ * <p>
+ * Every letter constrained gets a bit, and the letters excluded at each position are precompiled into one mask per
+ * position, so that every letter of a word is checked with one lookup whatever the number of constraints.
+ *
+ * <p>
+ * Instances should be obtained through {@link HelperQuery#compile(String, int)}. If the input is invalid, the error
+ * details are held by {@link HelperQuery#getError()} and the remaining fields should not be used.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class HelperQuery {
+    /**
+     * A static constant holding the maximum number of distinct letters constrained, which is the number of bits of
+     * the position masks.
+     */
+    private static final int MAX_LETTERS = Long.SIZE;
+
+    /**
+     * A String holding the error details, which will be empty if the input is valid.
+     */
+    private final String error;
+
+    /**
+     * A String holding the pattern of the word, where {@code *} marks unknown positions.
+     */
+    private final String pattern;
+
+    /**
+     * A char array holding the distinct letters listed inside "()" sorted increasingly.
+     */
+    private final char[] requiredLetters;
+
+    /**
+     * An int array holding the minimum occurrence of each letter of <var>requiredLetters</var> at unknown positions.
+     */
+    private final int[] requiredCounts;
+
+    /**
+     * A char array holding the distinct letters listed inside "[]" sorted increasingly.
+     */
+    private final char[] omittedLetters;
+
+    /**
+     * A boolean holding the status that whether unknown positions may hold letters beyond the required ones.
+     */
+    private final boolean matchAll;
+
+    /**
+     * A byte array holding the bit of each letter listed inside "[]", "{}" or "&lt;&gt;" by char, where -1 is for a
+     * letter not constrained.
+     */
+    private final byte[] letterBit;
+
+    /**
+     * A long array holding the mask of the letters excluded at each position, by "[]" at unknown positions and by
+     * "{}" anywhere.
+     */
+    private final long[] excludedMask;
+
+    /**
+     * An int array holding the exact occurrence in the whole word of each letter by bit, where -1 is for a letter not
+     * listed inside "&lt;&gt;".
+     */
+    private final int[] exactCounts;
+
+    /**
+     * A String holding the normalized representation of current query.
+     */
+    private final String normalized;
+
+    /**
+     * The only constructor for class {@code HelperQuery}, which should be called through
+     * {@link HelperQuery#compile(String, int)}.
+     */
+    private HelperQuery(String error, String pattern, TreeMap<Character, Integer> required, TreeSet<Character> omitted,
+                        boolean matchAll, TreeMap<Character, TreeSet<Integer>> excludedPositions,
+                        TreeMap<Character, Integer> exact) {
+        this.error = error;
+        this.pattern = pattern;
+        this.matchAll = matchAll;
+        requiredLetters = new char[required.size()];
+        requiredCounts = new int[required.size()];
+        int index = 0;
+        StringBuilder normalizedBuilder = new StringBuilder(pattern).append('(');
+        for (Character letter : required.keySet()) {
+            requiredLetters[index] = letter;
+            requiredCounts[index] = required.get(letter);
+            for (int i = 0; i < requiredCounts[index]; i++)
+                normalizedBuilder.append(letter);
+            index++;
+        }
+        if (matchAll)
+            normalizedBuilder.append('*');
+        normalizedBuilder.append(")[");
+        omittedLetters = new char[omitted.size()];
+        index = 0;
+        for (Character letter : omitted) {
+            omittedLetters[index++] = letter;
+            normalizedBuilder.append(letter);
+        }
+        normalizedBuilder.append(']');
+
+        // Give a bit to every letter constrained and compile the masks of each position.
+        TreeSet<Character> constrained = new TreeSet<>(omitted);
+        constrained.addAll(excludedPositions.keySet());
+        constrained.addAll(exact.keySet());
+        letterBit = new byte[constrained.isEmpty() ? 0 : constrained.last() + 1];
+        Arrays.fill(letterBit, (byte) -1);
+        for (Character letter : constrained)
+            letterBit[letter] = (byte) index(letter, constrained);
+        excludedMask = new long[pattern.length()];
+        long omittedMask = 0;
+        for (Character letter : omitted)
+            omittedMask |= 1L << letterBit[letter];
+        for (int i = 0; i < pattern.length(); i++)
+            if (pattern.charAt(i) == '*')
+                excludedMask[i] = omittedMask;
+        if (!excludedPositions.isEmpty()) {
+            normalizedBuilder.append('{');
+            for (Map.Entry<Character, TreeSet<Integer>> entry : excludedPositions.entrySet()) {
+                normalizedBuilder.append(entry.getKey());
+                for (int position : entry.getValue()) {
+                    excludedMask[position - 1] |= 1L << letterBit[entry.getKey()];
+                    normalizedBuilder.append(position);
+                }
+            }
+            normalizedBuilder.append('}');
+        }
+        exactCounts = new int[constrained.size()];
+        Arrays.fill(exactCounts, -1);
+        if (!exact.isEmpty()) {
+            normalizedBuilder.append('<');
+            for (Map.Entry<Character, Integer> entry : exact.entrySet()) {
+                exactCounts[letterBit[entry.getKey()]] = entry.getValue();
+                for (int i = 0; i < entry.getValue(); i++)
+                    normalizedBuilder.append(entry.getKey());
+            }
+            normalizedBuilder.append('>');
+        }
+        normalized = error.length() > 0 ? "" : normalizedBuilder.toString();
+    }
+
+    /**
+     * This static method returns the index of the letter given in the sorted set given.
+     *
+     * @param letter  a Character contained in <var>letters</var>.
+     * @param letters a {@code TreeSet} of letters.
+     * @return an int describing the number of letters before <var>letter</var>.
+     */
+    private static int index(Character letter, TreeSet<Character> letters) {
+        return letters.headSet(letter).size();
+    }
+
+    /**
+     * Returns a compiled query of the helper input.
+     *
+     * @param helperInput a String describing the input from the helper input text field.
+     * @param wordLength  an int describing the length of the word to be guessed.
+     * @return a {@code HelperQuery}, whose {@link HelperQuery#getError()} will be empty if the input is valid.
+     */
+    public static HelperQuery compile(String helperInput, int wordLength) {
+        helperInput = helperInput.toUpperCase();
+        // The closing bracket expected, or 0 outside any bracket.
+        char closingBracket = 0;
+        boolean isContainedRoundBracket = false;
+        TreeMap<Character, Integer> mustExistCount = new TreeMap<>();
+        TreeSet<Character> mustNotExist = new TreeSet<>();
+        TreeMap<Character, TreeSet<Integer>> mustNotBeAt = new TreeMap<>();
+        TreeMap<Character, Integer> exactCount = new TreeMap<>();
+        Character lastPositionLetter = null;
+        boolean eligibilityMatchAll = false;
+        StringBuilder patternString = new StringBuilder();
+        // Scan and check the input string.
+        for (int i = 0; i < helperInput.length(); i++) {
+            char ch = helperInput.charAt(i);
+            int opening = "([{<".indexOf(ch);
+            int closing = ")]}>".indexOf(ch);
+            if (opening >= 0) {
+                if (closingBracket != 0)
+                    return invalid("Claudàtors niuats no suportats");
+                closingBracket = ")]}>".charAt(opening);
+                if (ch == '(')
+                    isContainedRoundBracket = true;
+                lastPositionLetter = null;
+            } else if (closing >= 0) {
+                if (ch != closingBracket)
+                    return invalid("Claudàtor sense parella");
+                if (ch == '}' && lastPositionLetter != null && mustNotBeAt.get(lastPositionLetter).isEmpty())
+                    return invalid("Falta la posició de " + lastPositionLetter);
+                closingBracket = 0;
+            } else if (Character.isAlphabetic(ch)) {
+                if (closingBracket == ')')
+                    mustExistCount.put(ch, mustExistCount.getOrDefault(ch, 0) + 1);
+                else if (closingBracket == ']')
+                    mustNotExist.add(ch);
+                else if (closingBracket == '}') {
+                    if (lastPositionLetter != null && mustNotBeAt.get(lastPositionLetter).isEmpty())
+                        return invalid("Falta la posició de " + lastPositionLetter);
+                    lastPositionLetter = ch;
+                    mustNotBeAt.putIfAbsent(ch, new TreeSet<>());
+                } else if (closingBracket == '>')
+                    exactCount.put(ch, exactCount.getOrDefault(ch, 0) + 1);
+                else
+                    patternString.append(ch);
+            } else if (ch >= '1' && ch <= '9' && closingBracket == '}') {
+                if (lastPositionLetter == null)
+                    return invalid("Falta la lletra de la posició " + ch);
+                if (ch - '0' > wordLength)
+                    return invalid("Posició " + ch + " fora de la paraula");
+                mustNotBeAt.get(lastPositionLetter).add(ch - '0');
+            } else if (ch == '*') {
+                if (closingBracket == ')')
+                    eligibilityMatchAll = true;
+                else if (closingBracket == ']')
+                    return invalid("* dins de [] no permès");
+                else if (closingBracket != 0)
+                    return invalid("* dins de " + (closingBracket == '}' ? "{}" : "<>") + " no permès");
+                else
+                    patternString.append(ch);
+            } else
+                return invalid("Entrada no vàlida");
+        }
+        if (patternString.length() != wordLength)
+            return invalid("Longitud massa " + (patternString.length() < wordLength ? "curta" : "llarga"));
+        if (closingBracket != 0)
+            return invalid("Claudàtor sense parella");
+        TreeSet<Character> constrained = new TreeSet<>(mustNotExist);
+        constrained.addAll(mustNotBeAt.keySet());
+        constrained.addAll(exactCount.keySet());
+        if (constrained.size() > MAX_LETTERS)
+            return invalid("Massa lletres diferents");
+        if (!isContainedRoundBracket)
+            eligibilityMatchAll = true;
+        return new HelperQuery("", patternString.toString(), mustExistCount, mustNotExist, eligibilityMatchAll,
+                mustNotBeAt, exactCount);
+    }
+
+    /**
+     * Returns an invalid query holding the error details given.
+     *
+     * @param error a String describing the error details.
+     * @return an invalid {@code HelperQuery}.
+     */
+    private static HelperQuery invalid(String error) {
+        return new HelperQuery(error, "", new TreeMap<>(), new TreeSet<>(), false, new TreeMap<>(), new TreeMap<>());
+    }
+
+    /**
+     * Returns whether the word given satisfies current query. Letters at unknown positions are first counted towards
+     * the required letters, and any further letter is only accepted when {@link HelperQuery#isMatchAll()} is true.
+     *
+     * @param word an uppercase String with the same length of the pattern.
+     * @return true if <var>word</var> matches current query.
+     */
+    public boolean matches(String word) {
+        int[] existCount = new int[requiredLetters.length];
+        int[] letterCount = new int[exactCounts.length];
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = word.charAt(i);
+            int bit = bitOf(ch);
+            if (bit >= 0) {
+                if ((excludedMask[i] >>> bit & 1) != 0)
+                    return false;
+                if (exactCounts[bit] >= 0 && ++letterCount[bit] > exactCounts[bit])
+                    return false;
+            }
+            char fixed = pattern.charAt(i);
+            if (ch == fixed)
+                continue;
+            if (fixed != '*')
+                return false;
+            int required = indexOfRequired(ch);
+            if (required >= 0 && existCount[required] < requiredCounts[required])
+                existCount[required]++;
+            else if (!matchAll)
+                return false;
+        }
+        // Check must exist characters validity.
+        for (int i = 0; i < requiredLetters.length; i++)
+            if (existCount[i] < requiredCounts[i])
+                return false;
+        return isExactSatisfied(letterCount);
+    }
+
+    /**
+     * Returns the bit of the letter given in the position masks.
+     *
+     * @param ch a char describing an uppercase letter.
+     * @return an int from 0 to 63, or -1 if <var>ch</var> is not listed inside "[]", "{}" or "&lt;&gt;".
+     */
+    public int bitOf(char ch) {
+        return ch < letterBit.length ? letterBit[ch] : -1;
+    }
+
+    /**
+     * Returns whether the letter given is excluded at the position given, by "[]" if the position is unknown or by
+     * "{}".
+     *
+     * @param position an int describing the position counting from zero.
+     * @param ch       a char describing an uppercase letter.
+     * @return true if <var>ch</var> must not appear at <var>position</var>.
+     */
+    public boolean isExcluded(int position, char ch) {
+        int bit = bitOf(ch);
+        return bit >= 0 && (excludedMask[position] >>> bit & 1) != 0;
+    }
+
+    /**
+     * Returns the exact occurrence in the whole word of the letter of the bit given.
+     *
+     * @param bit an int returned by {@link HelperQuery#bitOf(char)}.
+     * @return an int describing the occurrence, or -1 if the letter is not listed inside "&lt;&gt;".
+     */
+    public int getExactCount(int bit) {
+        return exactCounts[bit];
+    }
+
+    /**
+     * Returns whether the occurrences given equal every exact occurrence listed inside "&lt;&gt;".
+     *
+     * @param letterCount an int array holding the occurrence in the whole word of each letter by bit.
+     * @return true if every letter listed inside "&lt;&gt;" occurs exactly as many times as listed.
+     */
+    public boolean isExactSatisfied(int[] letterCount) {
+        for (int bit = 0; bit < exactCounts.length; bit++)
+            if (exactCounts[bit] >= 0 && letterCount[bit] != exactCounts[bit])
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the number of distinct letters constrained by "[]", "{}" or "&lt;&gt;", which is the size of the
+     * occurrence arrays passed to {@link HelperQuery#isExactSatisfied(int[])}.
+     *
+     * @return an int from 0 to 64.
+     */
+    public int getLetterCount() {
+        return exactCounts.length;
+    }
+
+    /**
+     * Returns whether the letter given is listed inside "[]".
+     *
+     * @param ch a char describing an uppercase letter.
+     * @return true if <var>ch</var> must not appear at unknown positions.
+     */
+    public boolean isOmitted(char ch) {
+        return Arrays.binarySearch(omittedLetters, ch) >= 0;
+    }
+
+    /**
+     * Returns the index of the letter given in {@link HelperQuery#getRequiredLetters()}.
+     *
+     * @param ch a char describing an uppercase letter.
+     * @return the index of <var>ch</var>, or a negative value if it is not listed inside "()".
+     */
+    public int indexOfRequired(char ch) {
+        return Arrays.binarySearch(requiredLetters, ch);
+    }
+
+    /**
+     * Returns the error details.
+     *
+     * @return a String describing the error details, which will be empty if the input is valid.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Returns the pattern of the word.
+     *
+     * @return a String where {@code *} marks unknown positions.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the distinct letters listed inside "()".
+     *
+     * @return a copy of the char array sorted increasingly.
+     */
+    public char[] getRequiredLetters() {
+        return requiredLetters.clone();
+    }
+
+    /**
+     * Returns the minimum occurrence of each letter of {@link HelperQuery#getRequiredLetters()}.
+     *
+     * @return a copy of the int array in the same order of the required letters.
+     */
+    public int[] getRequiredCounts() {
+        return requiredCounts.clone();
+    }
+
+    /**
+     * Returns whether unknown positions may hold letters beyond the required ones.
+     *
+     * @return a boolean describing the status.
+     */
+    public boolean isMatchAll() {
+        return matchAll;
+    }
+
+    /**
+     * Returns the normalized representation of current query, which is suitable as a cache key.
+     *
+     * @return a String such as {@code *****(ESS*)[AB]}, or an empty String if the input is invalid.
+     */
+    public String getNormalized() {
+        return normalized;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The {@code JournalReplayer} class replays journals recorded by {@code GameJournal} without any window and checks
+ * that the rules of {@code GameRound} still produce the recorded scores and results.
+ *
+ * <p>
+ * Usage: {@code java JournalReplayer <journal or directory>...}, where directories are searched recursively for
+ * {@code .ewj} files. Journals are replayed in parallel and the program exits with status 1 if any replay differs,
+ * except for games recorded with another fingerprint, which are reported but not counted as discrepancies.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class JournalReplayer {
+    /**
+     * This method loads the default word sources, replays every journal given and prints a summary.
+     *
+     * @param args a String array holding journal files or directories.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Ús: java JournalReplayer <diari o directori>...");
+            System.exit(2);
+        }
+        ArrayList<Path> paths = new ArrayList<>();
+        for (String arg : args)
+            try (Stream<Path> files = Files.walk(Paths.get(arg))) {
+                paths.addAll(files.filter(path -> path.toString().endsWith(GameJournal.EXTENSION))
+                        .sorted().collect(Collectors.toList()));
+            }
+        String initResult = Service.getInstance().initService(eWordle.getWordSources(), eWordle.getWordLengths());
+        if (initResult.length() != 0)
+            System.err.println(initResult);
+
+        AtomicInteger mismatches = new AtomicInteger();
+        AtomicInteger staleDictionaries = new AtomicInteger();
+        AtomicLong keys = new AtomicLong();
+        long startNanos = System.nanoTime();
+        paths.parallelStream().forEach(path -> {
+            String error;
+            boolean stale = false;
+            try {
+                GameJournal journal = GameJournal.read(path);
+                keys.addAndGet(journal.getKeys().length());
+                stale = journal.getDictionaryFingerprint() != Service.getInstance().getGameFingerprint(
+                        journal.getWordSource(), journal.getInitWord().split(",")[0].length());
+                if (stale)
+                    staleDictionaries.incrementAndGet();
+                error = replay(journal);
+            } catch (IOException e) {
+                error = e.getMessage();
+            }
+            if (error.length() != 0) {
+                // A game played with another dictionary or overlay may rightly replay differently.
+                if (!stale)
+                    mismatches.incrementAndGet();
+                System.out.println(path + ": " + error + (stale ? " (diccionari diferent)" : ""));
+            }
+        });
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%d diaris, %d tecles, %d discrepàncies, %d amb un diccionari diferent, %.3f s " +
+                        "(%.0f tecles/s)%n", paths.size(), keys.get(), mismatches.get(), staleDictionaries.get(),
+                seconds, keys.get() / Math.max(seconds, 1e-9));
+        System.exit(mismatches.get() == 0 ? 0 : 1);
+    }
+
+    /**
+     * Returns a string representation of the replay result of the journal given.
+     *
+     * @param journal a {@code GameJournal} to be replayed.
+     * @return an empty String if the replay matches the recorded result, or error details otherwise.
+     */
+    public static String replay(GameJournal journal) {
+        GameRound round = new GameRound(journal.getWordSource(), journal.getInitWord().split(","),
+                journal.isHardMode());
+        String keys = journal.getKeys();
+        for (int i = 0; i < keys.length(); i++)
+            round.keyTyped(keys.charAt(i));
+        if (!round.isEnded())
+            return "el joc no s'ha acabat";
+        if (round.isSuccess() != journal.isSuccess() || round.getCurrentLine() != journal.getTries())
+            return "resultat " + round.isSuccess() + "/" + round.getCurrentLine() + ", esperat " +
+                    journal.isSuccess() + "/" + journal.getTries();
+        List<Integer> expected = journal.getScoreByOrder();
+        if (!round.getScoreByOrderOfAllBoards().equals(expected))
+            return "puntuacions " + round.getScoreByOrderOfAllBoards() + ", esperades " + expected;
+        return "";
+    }
+}
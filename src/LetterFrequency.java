@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import java.util.Collection;
+
+/**
+ * The {@code LetterFrequency} class holds how often each letter appears at each position among the words of one word
+ * source and one word length, which is used to rank helper results by how much a guess would reveal.
+ *
+ * <p>
+ * The score of a word is the number of words sharing each of its letters at the same position, plus the number of
+ * words containing each of its distinct letters anywhere, so that words made of common letters in common positions
+ * rank first and repeated letters are not rewarded twice. Letters other than A to Z (e.g. accented letters) score 0.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class LetterFrequency {
+    /**
+     * An int array holding the number of words with each letter (index 0 for {@code A}) at each position, position
+     * after position.
+     */
+    private final int[] positional;
+
+    /**
+     * An int array holding the number of words containing each letter anywhere.
+     */
+    private final int[] anywhere = new int[26];
+
+    /**
+     * An int holding the length of the words counted.
+     */
+    private final int wordLength;
+
+    /**
+     * The only constructor for class {@code LetterFrequency}.
+     *
+     * @param wordLength an int describing the length of every word in <var>words</var>.
+     * @param words      a {@code Collection} holding the uppercase words to be counted.
+     */
+    public LetterFrequency(int wordLength, Collection<String> words) {
+        this.wordLength = wordLength;
+        this.positional = new int[wordLength * 26];
+        for (String word : words) {
+            int seen = 0;
+            for (int i = 0; i < wordLength; i++) {
+                int letter = word.charAt(i) - 'A';
+                if (letter < 0 || letter >= 26)
+                    continue;
+                positional[i * 26 + letter]++;
+                if ((seen & 1 << letter) == 0) {
+                    seen |= 1 << letter;
+                    anywhere[letter]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the score of the word given.
+     *
+     * @param word an uppercase String with the length of the words counted.
+     * @return a long describing the score, where a higher score ranks first.
+     */
+    public long score(String word) {
+        long score = 0;
+        int seen = 0;
+        for (int i = 0; i < wordLength; i++) {
+            int letter = word.charAt(i) - 'A';
+            if (letter < 0 || letter >= 26)
+                continue;
+            score += positional[i * 26 + letter];
+            if ((seen & 1 << letter) == 0) {
+                seen |= 1 << letter;
+                score += anywhere[letter];
+            }
+        }
+        return score;
+    }
+}
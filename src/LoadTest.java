@@ -0,0 +1,296 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code LoadTest} class simulates many concurrent players against the in-process game logic, without any window
+ * or network, and reports throughput, latency percentiles of each operation, heap and garbage collection statistics.
+ *
+ * <p>
+ * Each player runs on its own virtual thread when the running JVM supports them, or on its own platform thread
+ * otherwise. A player starts every game either from a random word or from a hashtag, types guesses through
+ * {@code GameRound} with a random think time between them, asks the helper for candidates consistent with the scores
+ * seen so far and plays until the game ends.
+ *
+ * <p>
+ * Usage: {@code java LoadTest [--players=1000] [--games=5] [--think=300] [--source=Tot] [--length=5]}, where
+ * <var>think</var> is the mean think time in milliseconds, and every source and length is used if none is given.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class LoadTest {
+    /**
+     * A static constant holding the operations timed, in the order they are reported.
+     */
+    private static final String[] OPERATIONS = {"start.random", "start.hashtag", "helper", "guess"};
+
+    /**
+     * A static {@code LinkedHashMap} holding the latency histogram of each operation.
+     */
+    private static final LinkedHashMap<String, Metrics.Histogram> latencyByOperation = new LinkedHashMap<>();
+
+    /**
+     * A static {@code AtomicLong} counting the games won.
+     */
+    private static final AtomicLong gamesWon = new AtomicLong();
+
+    /**
+     * A static {@code AtomicLong} counting the games lost.
+     */
+    private static final AtomicLong gamesLost = new AtomicLong();
+
+    /**
+     * A static {@code AtomicLong} counting the games that could not be started, e.g. no word of such length.
+     */
+    private static final AtomicLong gamesSkipped = new AtomicLong();
+
+    /**
+     * A static {@code AtomicLong} counting the games abandoned, e.g. the word holds letters that cannot be typed.
+     */
+    private static final AtomicLong gamesAbandoned = new AtomicLong();
+
+    /**
+     * A static constant holding the number of rejected guesses after which a player abandons the game.
+     */
+    private static final int MAX_REJECTED_GUESSES = 10;
+
+    /**
+     * This method loads the default word sources, runs all players and prints the report.
+     *
+     * @param args a String array holding options in the form {@code --name=value}.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        HashMap<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "");
+        }
+        int players = Integer.parseInt(options.getOrDefault("players", "1000"));
+        int games = Integer.parseInt(options.getOrDefault("games", "5"));
+        int thinkMillis = Integer.parseInt(options.getOrDefault("think", "300"));
+        String[] wordSources = options.containsKey("source") ? new String[]{options.get("source")} :
+                eWordle.getWordSources();
+        String[] wordLengths = options.containsKey("length") ? new String[]{options.get("length")} :
+                eWordle.getWordLengths();
+
+        long loadStartNanos = System.nanoTime();
+        String initResult = Service.getInstance().initService(eWordle.getWordSources(), eWordle.getWordLengths());
+        if (initResult.length() != 0)
+            System.err.println(initResult);
+        Settings.setWordSourceOptions(eWordle.getWordSources());
+        System.out.printf("Diccionaris carregats en %.0f ms%n", (System.nanoTime() - loadStartNanos) / 1e6);
+        for (String operation : OPERATIONS)
+            latencyByOperation.put(operation, Metrics.histogram("loadTest." + operation));
+
+        Map<String, long[]> gcBefore = collectGarbageCollection();
+        ExecutorService executor = newPlayerExecutor();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < players; i++)
+            executor.execute(() -> {
+                for (int j = 0; j < games; j++)
+                    playGame(wordSources, wordLengths, thinkMillis);
+            });
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        long finished = gamesWon.get() + gamesLost.get();
+        System.out.printf("%d jugadors, %d partides (%d guanyades, %d perdudes, %d omeses, %d abandonades) en " +
+                        "%.1f s: %.1f partides/s, %.1f intents/s%n", players, finished, gamesWon.get(),
+                gamesLost.get(), gamesSkipped.get(), gamesAbandoned.get(), seconds, finished / seconds,
+                latencyByOperation.get("guess").getCount() / seconds);
+        System.out.printf("%-14s %10s %10s %10s %10s %10s%n", "operació", "n", "p50 µs", "p99 µs", "p999 µs",
+                "max µs");
+        for (Map.Entry<String, Metrics.Histogram> entry : latencyByOperation.entrySet()) {
+            Metrics.Histogram histogram = entry.getValue();
+            System.out.printf("%-14s %10d %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), histogram.getCount(),
+                    histogram.getP50() / 1e3, histogram.getP99() / 1e3, histogram.getP999() / 1e3,
+                    histogram.getMax() / 1e3);
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        System.out.printf("Heap: %.1f MB usats, %.1f MB reservats, %.1f MB màxim%n", heap.getUsed() / 1048576.0,
+                heap.getCommitted() / 1048576.0, heap.getMax() / 1048576.0);
+        Map<String, long[]> gcAfter = collectGarbageCollection();
+        for (Map.Entry<String, long[]> entry : gcAfter.entrySet()) {
+            long[] before = gcBefore.getOrDefault(entry.getKey(), new long[2]);
+            System.out.printf("GC %s: %d col·leccions, %d ms%n", entry.getKey(), entry.getValue()[0] - before[0],
+                    entry.getValue()[1] - before[1]);
+        }
+    }
+
+    /**
+     * Returns an executor that starts one virtual thread per player if the running JVM supports them, or one daemon
+     * platform thread per player otherwise.
+     *
+     * @return an {@code ExecutorService} running players.
+     */
+    private static ExecutorService newPlayerExecutor() {
+        try {
+            // Looked up reflectively so that the harness still compiles and runs on JVMs without virtual threads.
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            System.out.println("Fils virtuals: sí");
+            return executor;
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            System.out.println("Fils virtuals: no (un fil de plataforma per jugador)");
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "eWordle-player");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Returns the number of collections and the accumulated collection time in milliseconds of each collector.
+     *
+     * @return a {@code Map} holding {@code {count, time}} by collector name.
+     */
+    private static Map<String, long[]> collectGarbageCollection() {
+        LinkedHashMap<String, long[]> result = new LinkedHashMap<>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            result.put(collector.getName(), new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+        return result;
+    }
+
+    /**
+     * This method plays one game as a simulated player.
+     *
+     * @param wordSources a String array holding the word sources to choose from.
+     * @param wordLengths a String array holding the word lengths to choose from.
+     * @param thinkMillis an int describing the mean think time in milliseconds before each guess.
+     */
+    private static void playGame(String[] wordSources, String[] wordLengths, int thinkMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String wordSource = wordSources[random.nextInt(wordSources.length)];
+        int wordLength = Integer.parseInt(wordLengths[random.nextInt(wordLengths.length)]);
+
+        // Start the game from a random word, or from the hashtag of a random word as if shared by a friend.
+        long startNanos = System.nanoTime();
+        String initWord = Service.getInstance().generateRandomWord(wordLength, wordSource);
+        if (initWord.equals("No trobat")) {
+            gamesSkipped.incrementAndGet();
+            return;
+        }
+        if (random.nextBoolean())
+            latencyByOperation.get("start.random").recordSince(startNanos);
+        else {
+            startNanos = System.nanoTime();
+            String[] decodeResult = Settings.hashtagDecoder(Settings.hashtagEncoder(wordSource, initWord))
+                    .split("\\$");
+            latencyByOperation.get("start.hashtag").recordSince(startNanos);
+            if (decodeResult[0].length() != 0) {
+                gamesSkipped.incrementAndGet();
+                return;
+            }
+        }
+
+        GameRound round = new GameRound(wordSource, initWord);
+        char[] pattern = new char[wordLength];
+        Arrays.fill(pattern, '*');
+        TreeSet<Character> present = new TreeSet<>();
+        TreeSet<Character> absent = new TreeSet<>();
+        int rejectedGuesses = 0;
+        while (!round.isEnded()) {
+            if (rejectedGuesses == MAX_REJECTED_GUESSES) {
+                gamesAbandoned.incrementAndGet();
+                return;
+            }
+            think(thinkMillis);
+            String guess = askHelper(round, pattern, present, absent);
+            startNanos = System.nanoTime();
+            for (int i = 0; i < guess.length(); i++)
+                round.keyTyped(guess.charAt(i));
+            int line = round.getCurrentLine();
+            GameRound.Outcome outcome = round.keyTyped('\n');
+            latencyByOperation.get("guess").recordSince(startNanos);
+            if (outcome == GameRound.Outcome.SCORED || outcome == GameRound.Outcome.LOST) {
+                int[] scores = round.getScores(line);
+                for (int i = 0; i < wordLength; i++)
+                    if (scores[i] == 2)
+                        pattern[i] = guess.charAt(i);
+                    else if (scores[i] == 1)
+                        present.add(guess.charAt(i));
+                    else
+                        absent.add(guess.charAt(i));
+            } else if (outcome != GameRound.Outcome.WON) {
+                // The guess was rejected, e.g. it holds letters that cannot be typed.
+                rejectedGuesses++;
+                for (int i = 0; i < guess.length(); i++)
+                    round.keyTyped('\b');
+            }
+        }
+        (round.isSuccess() ? gamesWon : gamesLost).incrementAndGet();
+    }
+
+    /**
+     * Returns a guess chosen randomly among the helper results consistent with the scores seen so far, or a random
+     * word of the same length if the helper finds none.
+     */
+    private static String askHelper(GameRound round, char[] pattern, TreeSet<Character> present,
+                                    TreeSet<Character> absent) {
+        StringBuilder helperInput = new StringBuilder(new String(pattern));
+        if (!present.isEmpty()) {
+            helperInput.append('(');
+            present.forEach(helperInput::append);
+            helperInput.append("*)");
+        }
+        StringBuilder omitted = new StringBuilder();
+        for (Character letter : absent)
+            if (!present.contains(letter))
+                omitted.append(letter);
+        if (omitted.length() > 0)
+            helperInput.append('[').append(omitted).append(']');
+        long startNanos = System.nanoTime();
+        String[] response = Service.getInstance().validateHelperInput(helperInput.toString(), round.getWordSource(),
+                pattern.length, () -> false).split("\\$", 2);
+        latencyByOperation.get("helper").recordSince(startNanos);
+        String[] lines = response.length > 1 ? response[1].split("\n") : new String[0];
+        if (lines.length > 1)
+            return lines[1 + ThreadLocalRandom.current().nextInt(lines.length - 1)];
+        return Service.getInstance().generateRandomWord(pattern.length, round.getWordSource());
+    }
+
+    /**
+     * This static method sleeps for an exponentially distributed time with the mean given.
+     *
+     * @param meanMillis an int describing the mean think time in milliseconds.
+     */
+    private static void think(int meanMillis) {
+        if (meanMillis <= 0)
+            return;
+        try {
+            Thread.sleep((long) (-meanMillis * Math.log(1 - ThreadLocalRandom.current().nextDouble())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
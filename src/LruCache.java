@@ -0,0 +1,135 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code LruCache} class holds a bounded map that evicts the least recently used entry once its capacity is
+ * exceeded, counting hits and misses so that the hit rate can be inspected.
+ *
+ * <p>
+ * All methods are synchronized, so that one instance may be shared between the Swing event dispatch thread and
+ * background workers.
+ *
+ * @param <K> the type of keys.
+ * @param <V> the type of cached values.
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class LruCache<K, V> {
+    /**
+     * A {@code LinkedHashMap} in access order holding the cached entries.
+     */
+    private final LinkedHashMap<K, V> entries;
+
+    /**
+     * A long holding the number of lookups that found a cached value.
+     */
+    private long hits;
+
+    /**
+     * A long holding the number of lookups that found no cached value.
+     */
+    private long misses;
+
+    /**
+     * The only constructor for class {@code LruCache}.
+     *
+     * @param capacity an int describing the maximum number of entries kept.
+     */
+    public LruCache(int capacity) {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the value cached for the key given and counts the lookup as a hit or a miss.
+     *
+     * @param key a key to be looked up.
+     * @return the value cached, or null if not found.
+     */
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null)
+            misses++;
+        else
+            hits++;
+        return value;
+    }
+
+    /**
+     * This method caches the value given, evicting the least recently used entry if the capacity is exceeded.
+     *
+     * @param key   a key of the entry.
+     * @param value a value of the entry.
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * This method removes all entries while keeping the hit and miss counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     *
+     * @return a long describing the number of hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that found no cached value.
+     *
+     * @return a long describing the number of misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the ratio of hits to all lookups.
+     *
+     * @return a double from 0 to 1, which will be 0 if no lookup has been made.
+     */
+    public synchronized double getHitRate() {
+        return hits + misses == 0 ? 0 : 1.0 * hits / (hits + misses);
+    }
+
+    /**
+     * Returns the number of entries cached.
+     *
+     * @return an int describing the number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The {@code Metrics} class holds a registry of counters, gauges and histograms of the hot paths, each registered as a
+ * platform MXBean under the {@code eWordle} domain so that it can be read with {@code jconsole} or {@code jcmd}.
+ *
+ * <p>
+ * Every metric is created on first use through {@link Metrics#counter(String)}, {@link Metrics#gauge(String,
+ * LongSupplier)} or {@link Metrics#histogram(String)}, and the same instance is returned for the same name afterwards.
+ * Updates only touch striped {@code LongAdder}s, so that metrics can stay enabled at all times.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class Metrics {
+    /**
+     * A static constant holding the JMX domain of all metrics.
+     */
+    private static final String DOMAIN = "eWordle";
+
+    /**
+     * A static {@code ConcurrentHashMap} holding all metrics by their name.
+     */
+    private static final ConcurrentHashMap<String, Object> metricsByName = new ConcurrentHashMap<>();
+
+    /**
+     * The {@code CounterMXBean} interface exposes a monotonically increasing count.
+     */
+    public interface CounterMXBean {
+        /**
+         * Returns the current count.
+         *
+         * @return a long describing the current count.
+         */
+        long getCount();
+    }
+
+    /**
+     * The {@code GaugeMXBean} interface exposes a value sampled on every read.
+     */
+    public interface GaugeMXBean {
+        /**
+         * Returns the current value.
+         *
+         * @return a long describing the current value.
+         */
+        long getValue();
+    }
+
+    /**
+     * The {@code HistogramMXBean} interface exposes the distribution of recorded values.
+     */
+    public interface HistogramMXBean {
+        /**
+         * Returns the number of values recorded.
+         *
+         * @return a long describing the number of values recorded.
+         */
+        long getCount();
+
+        /**
+         * Returns the mean of values recorded.
+         *
+         * @return a double describing the mean, or 0 if nothing is recorded.
+         */
+        double getMean();
+
+        /**
+         * Returns the sum of values recorded.
+         *
+         * @return a long describing the sum, or 0 if nothing is recorded.
+         */
+        long getSum();
+
+        /**
+         * Returns the maximum value recorded.
+         *
+         * @return a long describing the maximum value, or 0 if nothing is recorded.
+         */
+        long getMax();
+
+        /**
+         * Returns the median of values recorded.
+         *
+         * @return a long describing the 50th percentile.
+         */
+        long getP50();
+
+        /**
+         * Returns the 90th percentile of values recorded.
+         *
+         * @return a long describing the 90th percentile.
+         */
+        long getP90();
+
+        /**
+         * Returns the 99th percentile of values recorded.
+         *
+         * @return a long describing the 99th percentile.
+         */
+        long getP99();
+
+        /**
+         * Returns the 99.9th percentile of values recorded.
+         *
+         * @return a long describing the 99.9th percentile.
+         */
+        long getP999();
+    }
+
+    /**
+     * The {@code Counter} class holds a count backed by a {@code LongAdder}.
+     */
+    public static class Counter implements CounterMXBean {
+        /**
+         * A {@code LongAdder} holding the count.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * This method increases the count by one.
+         */
+        public void increment() {
+            count.increment();
+        }
+
+        /**
+         * This method increases the count by the value given.
+         *
+         * @param value a long to be added.
+         */
+        public void add(long value) {
+            count.add(value);
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    /**
+     * The {@code Gauge} class holds a value computed by a {@code LongSupplier} on every read.
+     */
+    public static class Gauge implements GaugeMXBean {
+        /**
+         * A {@code LongSupplier} computing the value, which may be replaced after registration.
+         */
+        private volatile LongSupplier supplier;
+
+        /**
+         * The only constructor for class {@code Gauge}.
+         *
+         * @param supplier a {@code LongSupplier} computing the value.
+         */
+        private Gauge(LongSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public long getValue() {
+            return supplier.getAsLong();
+        }
+    }
+
+    /**
+     * The {@code Histogram} class records non-negative values into log-linear buckets, each backed by a
+     * {@code LongAdder}, so that recording is lock-free and percentiles are accurate to within one eighth of the value.
+     */
+    public static class Histogram implements HistogramMXBean {
+        /**
+         * A static constant holding the number of bits of precision kept below the highest set bit.
+         */
+        private static final int SUB_BUCKET_BITS = 3;
+
+        /**
+         * A static constant holding the number of sub-buckets of each power of two.
+         */
+        private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+        /**
+         * A {@code LongAdder} array holding the count of each bucket.
+         */
+        private final LongAdder[] buckets = new LongAdder[SUB_BUCKET_COUNT * 2 + 64 * SUB_BUCKET_COUNT];
+
+        /**
+         * A {@code LongAdder} holding the number of values recorded.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * A {@code LongAdder} holding the sum of values recorded.
+         */
+        private final LongAdder sum = new LongAdder();
+
+        /**
+         * A {@code LongAccumulator} holding the maximum value recorded.
+         */
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        /**
+         * The only constructor for class {@code Histogram}.
+         */
+        public Histogram() {
+            for (int i = 0; i < buckets.length; i++)
+                buckets[i] = new LongAdder();
+        }
+
+        /**
+         * This method records a value, where negative values are recorded as 0.
+         *
+         * @param value a long to be recorded.
+         */
+        public void record(long value) {
+            value = Math.max(value, 0);
+            buckets[bucketOf(value)].increment();
+            count.increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        /**
+         * This method records the time elapsed since <var>startNanos</var>.
+         *
+         * @param startNanos a long holding a previous {@link System#nanoTime()}.
+         */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Returns the bucket of the value given.
+         *
+         * @param value a non-negative long.
+         * @return an int describing the bucket index.
+         */
+        private static int bucketOf(long value) {
+            if (value < SUB_BUCKET_COUNT * 2)
+                return (int) value;
+            int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+            return SUB_BUCKET_COUNT * 2 + (shift - 1) * SUB_BUCKET_COUNT +
+                    (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+        }
+
+        /**
+         * Returns the largest value of the bucket given.
+         *
+         * @param bucket an int describing the bucket index.
+         * @return a long describing the largest value that falls into <var>bucket</var>.
+         */
+        private static long highestValueOf(int bucket) {
+            if (bucket < SUB_BUCKET_COUNT * 2)
+                return bucket;
+            int shift = (bucket - SUB_BUCKET_COUNT * 2) / SUB_BUCKET_COUNT + 1;
+            long subBucket = (bucket - SUB_BUCKET_COUNT * 2) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+            return ((subBucket + 1) << shift) - 1;
+        }
+
+        /**
+         * Returns the value at the percentile given.
+         *
+         * @param percentile a double from 0 to 100.
+         * @return a long describing the highest value of the bucket holding the percentile, bounded by the maximum.
+         */
+        public long getPercentile(double percentile) {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < buckets.length; i++)
+                total += counts[i] = buckets[i].sum();
+            if (total == 0)
+                return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank)
+                    return Math.min(highestValueOf(i), max.get());
+            }
+            return max.get();
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public double getMean() {
+            long currentCount = count.sum();
+            return currentCount == 0 ? 0 : 1.0 * sum.sum() / currentCount;
+        }
+
+        @Override
+        public long getSum() {
+            return sum.sum();
+        }
+
+        @Override
+        public long getMax() {
+            return max.get();
+        }
+
+        @Override
+        public long getP50() {
+            return getPercentile(50);
+        }
+
+        @Override
+        public long getP90() {
+            return getPercentile(90);
+        }
+
+        @Override
+        public long getP99() {
+            return getPercentile(99);
+        }
+
+        @Override
+        public long getP999() {
+            return getPercentile(99.9);
+        }
+    }
+
+    /**
+     * Returns the counter of the name given, creating and registering it on first use.
+     *
+     * @param name a String describing the name of the counter, e.g. {@code checkExistence.hit}.
+     * @return a {@code Counter}.
+     */
+    public static Counter counter(String name) {
+        return (Counter) metricsByName.computeIfAbsent(name, key -> register("Counter", key, new Counter()));
+    }
+
+    /**
+     * Returns the gauge of the name given, creating and registering it on first use. If the gauge already exists,
+     * its supplier is replaced by <var>supplier</var>.
+     *
+     * @param name     a String describing the name of the gauge.
+     * @param supplier a {@code LongSupplier} computing the value on every read.
+     * @return a {@code Gauge}.
+     */
+    public static Gauge gauge(String name, LongSupplier supplier) {
+        Gauge gauge = (Gauge) metricsByName.computeIfAbsent(name, key -> register("Gauge", key, new Gauge(supplier)));
+        gauge.supplier = supplier;
+        return gauge;
+    }
+
+    /**
+     * Returns the histogram of the name given, creating and registering it on first use.
+     *
+     * @param name a String describing the name of the histogram, where latencies are recorded in nanoseconds.
+     * @return a {@code Histogram}.
+     */
+    public static Histogram histogram(String name) {
+        return (Histogram) metricsByName.computeIfAbsent(name, key -> register("Histogram", key, new Histogram()));
+    }
+
+    /**
+     * Returns the metric given after registering it to the platform {@code MBeanServer}. Registration failures are
+     * ignored, as metrics must never break the game.
+     *
+     * @param type   a String describing the type of the metric.
+     * @param name   a String describing the name of the metric.
+     * @param metric an Object implementing one of the MXBean interfaces.
+     * @return <var>metric</var>.
+     */
+    private static Object register(String type, String name, Object metric) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName))
+                server.registerMBean(metric, objectName);
+        } catch (Exception ignored) {
+        }
+        return metric;
+    }
+}
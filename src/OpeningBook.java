@@ -0,0 +1,383 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * The {@code OpeningBook} class holds the best first guesses of one word source and one word length, and the best
+ * second guess after each pattern the best first guess may show.
+ *
+ * <p>
+ * A guess is better when the candidates it leaves are fewer on average, which is the sum of the squared sizes of the
+ * buckets it splits the candidates into, divided by the number of candidates. Computing it scores every guess against
+ * every candidate, so a book is computed once in the background and kept under {@link OpeningBook#BOOK_DIRECTORY} of
+ * the data directory, named after the hash of the candidates (see {@link OpeningBook#contentHash(String[])}). A book
+ * is therefore computed again only when the candidates change, e.g. when a word source file is edited.
+ *
+ * <p>
+ * Guesses are only taken from the candidates spelled with A to Z, which are the letters that can be typed, and are
+ * scored with the same rules of {@link GameRound#score(String, String)}.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class OpeningBook {
+    /**
+     * A static constant holding the name of the directory keeping the books under the data directory.
+     */
+    public static final String BOOK_DIRECTORY = "openings";
+
+    /**
+     * A static constant holding the number of first guesses kept.
+     */
+    private static final int OPENING_COUNT = 5;
+
+    /**
+     * A String array holding the best first guesses, best first.
+     */
+    private final String[] openings;
+
+    /**
+     * A double array holding the average number of candidates left by each first guess.
+     */
+    private final double[] expectedRemaining;
+
+    /**
+     * A HashMap holding the best second guess by the pattern shown by the best first guess, such as "20100".
+     */
+    private final HashMap<String, String> followUpByPattern;
+
+    /**
+     * An int holding the number of candidates.
+     */
+    private final int wordCount;
+
+    /**
+     * The only constructor for class {@code OpeningBook}, which should be called through
+     * {@link OpeningBook#compute(String[])} or {@link OpeningBook#load(Path)}.
+     */
+    private OpeningBook(String[] openings, double[] expectedRemaining, HashMap<String, String> followUpByPattern,
+                        int wordCount) {
+        this.openings = openings;
+        this.expectedRemaining = expectedRemaining;
+        this.followUpByPattern = followUpByPattern;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * This static method computes the book of the candidates given.
+     *
+     * @param words a non-empty String array holding the distinct uppercase candidates, all of the same length.
+     * @return an {@code OpeningBook}, which holds no guess if no candidate is spelled with A to Z.
+     */
+    public static OpeningBook compute(String[] words) {
+        int wordLength = words[0].length();
+        byte[] symbols = Absurdle.pack(words);
+        ArrayList<Integer> guessList = new ArrayList<>();
+        for (int word = 0; word < words.length; word++)
+            if (words[word].chars().allMatch(letter -> 'A' <= letter && letter <= 'Z'))
+                guessList.add(word);
+        int[] guesses = guessList.stream().mapToInt(Integer::intValue).toArray();
+        int patternCount = 1;
+        for (int i = 0; i < wordLength; i++)
+            patternCount *= 3;
+        int[] bucketSizes = new int[patternCount];
+        int[] scratch = new int[words.length];
+
+        // Score every guess against every candidate, keeping the best ones in a small sorted array.
+        int[] all = new int[words.length];
+        for (int word = 0; word < words.length; word++)
+            all[word] = word;
+        int[] best = new int[Math.min(OPENING_COUNT, guesses.length)];
+        long[] bestCost = new long[best.length];
+        int kept = 0;
+        for (int guess : guesses) {
+            long cost = cost(symbols, wordLength, guess, all, all.length, bucketSizes, scratch);
+            if (kept == best.length && cost >= bestCost[kept - 1])
+                continue;
+            int position = kept == best.length ? kept - 1 : kept++;
+            while (position > 0 && bestCost[position - 1] > cost) {
+                best[position] = best[position - 1];
+                bestCost[position] = bestCost[position - 1];
+                position--;
+            }
+            best[position] = guess;
+            bestCost[position] = cost;
+        }
+        String[] openings = new String[kept];
+        double[] expectedRemaining = new double[kept];
+        for (int i = 0; i < kept; i++) {
+            openings[i] = words[best[i]];
+            expectedRemaining[i] = (double) bestCost[i] / words.length;
+        }
+
+        // Split the candidates by the pattern of the best first guess and find the best second guess of each bucket.
+        HashMap<String, String> followUpByPattern = new HashMap<>();
+        if (kept > 0) {
+            int[] codes = new int[words.length];
+            for (int word = 0; word < words.length; word++) {
+                codes[word] = patternCode(symbols, wordLength, best[0], word);
+                bucketSizes[codes[word]]++;
+            }
+            int[][] buckets = new int[patternCount][];
+            for (int code = 0; code < patternCount; code++)
+                if (bucketSizes[code] > 0)
+                    buckets[code] = new int[bucketSizes[code]];
+            for (int word = words.length - 1; word >= 0; word--)
+                buckets[codes[word]][--bucketSizes[codes[word]]] = word;
+            for (int code = 0; code < patternCount; code++) {
+                int[] bucket = buckets[code];
+                if (bucket == null || bucket.length == 1 && bucket[0] == best[0])
+                    continue;
+                // A guess that may be the answer is preferred among guesses leaving as many candidates.
+                int bestGuess = -1;
+                long bestGuessCost = Long.MAX_VALUE;
+                for (int guess : guesses) {
+                    long cost = cost(symbols, wordLength, guess, bucket, bucket.length, bucketSizes, scratch) * 2 +
+                            (codes[guess] == code ? 0 : 1);
+                    if (cost < bestGuessCost) {
+                        bestGuess = guess;
+                        bestGuessCost = cost;
+                    }
+                }
+                followUpByPattern.put(patternOf(code, wordLength), words[bestGuess]);
+            }
+        }
+        return new OpeningBook(openings, expectedRemaining, followUpByPattern, words.length);
+    }
+
+    /**
+     * This static method returns the sum of the squared sizes of the buckets the guess given splits the candidates
+     * given into, where <var>bucketSizes</var> is all zero before and after.
+     *
+     * @param symbols        a byte array returned by {@link Absurdle#pack(String[])}.
+     * @param wordLength     an int describing the length of every word.
+     * @param guess          an int describing the word guessed.
+     * @param candidates     an int array holding the candidates in its first <var>candidateCount</var> positions.
+     * @param candidateCount an int describing the number of candidates.
+     * @param bucketSizes    an int array counting the candidates of each pattern code.
+     * @param codes          an int array receiving the pattern code of each candidate, at least as long as
+     *                       <var>candidateCount</var>.
+     * @return a long describing the cost.
+     */
+    private static long cost(byte[] symbols, int wordLength, int guess, int[] candidates, int candidateCount,
+                             int[] bucketSizes, int[] codes) {
+        long cost = 0;
+        for (int k = 0; k < candidateCount; k++) {
+            codes[k] = patternCode(symbols, wordLength, guess, candidates[k]);
+            // Adding one to a bucket of size s adds 2s + 1 to its square.
+            cost += 2L * bucketSizes[codes[k]]++ + 1;
+        }
+        for (int k = 0; k < candidateCount; k++)
+            bucketSizes[codes[k]] = 0;
+        return cost;
+    }
+
+    /**
+     * This static method returns the base-3 pattern code of a guess against an answer, where the lowest digit is the
+     * first position, with the same rules of {@link GameRound#score(String, String)}.
+     *
+     * @param symbols    a byte array returned by {@link Absurdle#pack(String[])}.
+     * @param wordLength an int describing the length of every word.
+     * @param guess      an int describing the word guessed.
+     * @param answer     an int describing the word to be guessed.
+     * @return an int describing the pattern code.
+     */
+    private static int patternCode(byte[] symbols, int wordLength, int guess, int answer) {
+        int guessOffset = guess * wordLength;
+        int answerOffset = answer * wordLength;
+        int greenMask = 0;
+        long remainingMask = 0;
+        for (int i = 0; i < wordLength; i++) {
+            int symbol = symbols[answerOffset + i];
+            if (symbols[guessOffset + i] == symbol)
+                greenMask |= 1 << i;
+            else
+                remainingMask |= 1L << symbol;
+        }
+        int code = 0;
+        for (int i = wordLength - 1; i >= 0; i--) {
+            int symbol = symbols[guessOffset + i];
+            code *= 3;
+            if ((greenMask & 1 << i) != 0)
+                code += 2;
+            else if (symbol < 26 && (remainingMask & 1L << symbol) != 0)
+                code += 1;
+        }
+        return code;
+    }
+
+    /**
+     * This static method returns the pattern of a pattern code as the score of each position.
+     *
+     * @param code       an int describing the base-3 pattern code.
+     * @param wordLength an int describing the length of every word.
+     * @return a String such as "20100".
+     */
+    private static String patternOf(int code, int wordLength) {
+        StringBuilder pattern = new StringBuilder();
+        for (int i = 0; i < wordLength; i++, code /= 3)
+            pattern.append(code % 3);
+        return pattern.toString();
+    }
+
+    /**
+     * This static method returns the hash naming the book of the candidates given.
+     *
+     * @param words a String array holding the candidates in the order they are drawn.
+     * @return a String holding the SHA-256 of the candidates in hexadecimal.
+     */
+    public static String contentHash(String[] words) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String word : words)
+            digest.update((word + '\n').getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest())
+            hex.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return hex.toString();
+    }
+
+    /**
+     * This static method returns the file keeping the book of the hash given.
+     *
+     * @param contentHash a String returned by {@link OpeningBook#contentHash(String[])}.
+     * @return a {@code Path} under the data directory.
+     */
+    public static Path pathOf(String contentHash) {
+        return eWordle.getDataDirectory().resolve(BOOK_DIRECTORY).resolve(contentHash + ".properties");
+    }
+
+    /**
+     * This static method loads a book kept by {@link OpeningBook#save(Path)}.
+     *
+     * @param file a {@code Path} of the book.
+     * @return an {@code OpeningBook}.
+     * @throws IOException if the file cannot be read or is corrupted.
+     */
+    public static OpeningBook load(Path file) throws IOException {
+        Properties kept = new Properties();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            kept.load(reader);
+        }
+        try {
+            ArrayList<String> openings = new ArrayList<>();
+            ArrayList<Double> expectedRemaining = new ArrayList<>();
+            for (int i = 1; kept.containsKey("opening." + i); i++) {
+                String[] fields = kept.getProperty("opening." + i).split(",");
+                openings.add(fields[0]);
+                expectedRemaining.add(Double.parseDouble(fields[1]));
+            }
+            HashMap<String, String> followUpByPattern = new HashMap<>();
+            for (String key : kept.stringPropertyNames())
+                if (key.startsWith("followUp."))
+                    followUpByPattern.put(key.substring("followUp.".length()), kept.getProperty(key));
+            return new OpeningBook(openings.toArray(new String[0]),
+                    expectedRemaining.stream().mapToDouble(Double::doubleValue).toArray(), followUpByPattern,
+                    Integer.parseInt(kept.getProperty("words")));
+        } catch (RuntimeException e) {
+            throw new IOException("Llibre d'obertures malmès: " + file, e);
+        }
+    }
+
+    /**
+     * This method keeps the book in the file given, creating its directory if needed.
+     *
+     * @param file a {@code Path} of the book.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        Properties kept = new Properties();
+        kept.setProperty("words", String.valueOf(wordCount));
+        for (int i = 0; i < openings.length; i++)
+            kept.setProperty("opening." + (i + 1),
+                    openings[i] + "," + String.format(Locale.ROOT, "%.3f", expectedRemaining[i]));
+        for (String pattern : followUpByPattern.keySet())
+            kept.setProperty("followUp." + pattern, followUpByPattern.get(pattern));
+        Files.createDirectories(file.getParent());
+        // Write to a temporary file first, so that a book is never read half written.
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            kept.store(writer, "eWordle opening book");
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the best first guesses.
+     *
+     * @return a copy of the String array, best first.
+     */
+    public String[] getOpenings() {
+        return openings.clone();
+    }
+
+    /**
+     * Returns the average number of candidates left by the first guess given.
+     *
+     * @param index an int describing the first guess counting from zero, in the order of
+     *              {@link OpeningBook#getOpenings()}.
+     * @return a double describing the average number of candidates left.
+     */
+    public double getExpectedRemaining(int index) {
+        return expectedRemaining[index];
+    }
+
+    /**
+     * Returns the best second guess after the best first guess showed the scores given.
+     *
+     * @param scores an int array holding the score of each position, where 0 is for grey, 1 is for yellow, 2 is for
+     *               green.
+     * @return an uppercase String, or null if no candidate shows such scores.
+     */
+    public String getFollowUp(int[] scores) {
+        StringBuilder pattern = new StringBuilder();
+        for (int score : scores)
+            pattern.append(score);
+        return followUpByPattern.get(pattern.toString());
+    }
+
+    /**
+     * Returns the number of candidates the book was computed for.
+     *
+     * @return an int describing the number of candidates.
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+}
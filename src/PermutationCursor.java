@@ -0,0 +1,147 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+/**
+ * The {@code PermutationCursor} class walks a pseudo-random permutation of {@code 0} to {@code size - 1} with constant
+ * state, so that every index is returned exactly once per cycle without remembering the indexes already returned.
+ *
+ * <p>
+ * The permutation is a balanced Feistel network over the smallest even number of bits covering <var>size</var>, where
+ * results out of range are fed back into the network (cycle walking) until they fall in range. As the domain is less
+ * than four times <var>size</var>, each draw takes a constant number of rounds on average. A new seed is derived at the
+ * end of every cycle, so that consecutive cycles are ordered differently.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class PermutationCursor {
+    /**
+     * A static constant holding the number of Feistel rounds.
+     */
+    private static final int ROUNDS = 4;
+
+    /**
+     * An int holding the number of indexes permuted.
+     */
+    private final int size;
+
+    /**
+     * An int holding the number of bits of each half of the Feistel domain.
+     */
+    private final int halfBits;
+
+    /**
+     * A long holding the seed of the current cycle.
+     */
+    private long seed;
+
+    /**
+     * An int holding the number of indexes already returned in the current cycle.
+     */
+    private int position;
+
+    /**
+     * The only constructor for class {@code PermutationCursor}.
+     *
+     * @param size     an int describing the number of indexes permuted, which should be positive.
+     * @param seed     a long holding the seed of the current cycle.
+     * @param position an int describing the number of indexes already returned in the current cycle.
+     */
+    public PermutationCursor(int size, long seed, int position) {
+        this.size = size;
+        this.seed = seed;
+        this.position = Math.max(0, Math.min(position, size));
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, size - 1));
+        this.halfBits = Math.max(1, (bits + 1) / 2);
+    }
+
+    /**
+     * Returns the next index of the permutation, starting a new cycle if every index has been returned.
+     *
+     * @return an int from 0 to {@code size - 1}.
+     */
+    public int next() {
+        if (position == size) {
+            seed = mix(seed);
+            position = 0;
+        }
+        int index = position++;
+        do
+            index = permute(index);
+        while (index >= size);
+        return index;
+    }
+
+    /**
+     * Returns the image of <var>index</var> through the Feistel network of the current seed.
+     *
+     * @param index an int inside the Feistel domain.
+     * @return an int inside the Feistel domain.
+     */
+    private int permute(int index) {
+        int mask = (1 << halfBits) - 1;
+        int left = index >>> halfBits;
+        int right = index & mask;
+        for (int round = 0; round < ROUNDS; round++) {
+            int next = left ^ ((int) mix(seed + round * 0x9E3779B97F4A7C15L + right) & mask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * This static method returns the SplitMix64 finalizer of <var>value</var>, which is used both as round function
+     * and to derive the seed of the next cycle.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Returns the number of indexes permuted.
+     *
+     * @return an int describing the size of the permutation.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the seed of the current cycle.
+     *
+     * @return a long holding the seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of indexes already returned in the current cycle.
+     *
+     * @return an int from 0 to {@code size}.
+     */
+    public int getPosition() {
+        return position;
+    }
+}
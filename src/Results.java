@@ -95,15 +95,26 @@ public class Results {
      */
     private final JTextField counterBoard;
 
+    /**
+     * A {@code JTextField} holding the solve time and the input latency of a timed game, which is empty otherwise.
+     */
+    private final JTextField speedrunBoard;
+
+    /**
+     * A long holding the solve time of the last game in nanoseconds, or -1 if it was not timed.
+     */
+    private long solveNanos = -1;
+
     /**
      * A static {@code JTextField} holding the tries that the user used to guess.
      */
     private int triesUsed;
 
     /**
-     * An {@code ArrayList} holding score of each confirmed input, where 0 is for grey, 1 is for yellow, 2 is for green.
+     * An {@code ArrayList} holding, for each board, score of each confirmed input, where 0 is for grey, 1 is for
+     * yellow, 2 is for green.
      */
-    private ArrayList<Integer> scoreByOrder;
+    private ArrayList<ArrayList<Integer>> scoresByBoard;
 
     /**
      * A boolean holding the status that whether the user win.
@@ -178,6 +189,13 @@ public class Results {
         counterBoard.setForeground(Color.YELLOW);
         windowPanel.add(counterBoard);
 
+        // Add speedrun board, which is only filled for timed games.
+        currentHeight += CONTENT_MARGIN;
+        speedrunBoard = Settings.textInit("", "Comic Sans MS", JTextField.CENTER, Font.PLAIN,
+                CONTENT_MARGIN, currentHeight, CONTENT_WIDTH, CONTENT_MARGIN, 18, false, false);
+        speedrunBoard.setForeground(Color.WHITE);
+        windowPanel.add(speedrunBoard);
+
         // Add two buttons to the window with event handlers respectively.
         currentHeight += CONTENT_MARGIN + 10;
         JButton toSettings = Settings.initButton("Configuració", CONTENT_MARGIN, currentHeight,
@@ -192,8 +210,8 @@ public class Results {
         JButton toRestart = Settings.initButton("Tornar a jugar",
                 CONTENT_MARGIN * 2 + (CONTENT_WIDTH - CONTENT_MARGIN) / 2, currentHeight,
                 (CONTENT_WIDTH - CONTENT_MARGIN) / 2, CONTENT_HEIGHT, 20, event -> {
-                    Game.createInstance().playGame(Settings.getWordSource(), Settings.getInitWord(),
-                            Settings.getCurrentHashtag());
+                    Game.createInstance().playGame(Settings.getWordSource(), Settings.getCurrentInitWords(),
+                            Settings.getCurrentHashtag(), Settings.isCurrentHardMode());
                     window.setVisible(false);
                 });
         toRestart.setBackground(new Color(25, 100, 25));
@@ -213,14 +231,20 @@ public class Results {
                 CONTENT_WIDTH, CONTENT_HEIGHT, 40, event -> {
                     StringBuilder resultStr = new StringBuilder();
                     resultStr.append("eWordle ").append(isOpenedHelper ? "*" : "").append(isSuccess ? triesUsed : "X")
-                            .append("/").append(Settings.getInitWord().length() + 1).append("\n");
-                    resultStr.append(Settings.getCurrentHashtag()).append("\n").append("\n");
+                            .append("/").append(Settings.getInitWord().length() + scoresByBoard.size()).append("\n");
+                    resultStr.append(Settings.getCurrentHashtag()).append("\n");
+                    if (solveNanos >= 0)
+                        resultStr.append("Temps: ").append(formatSeconds(solveNanos)).append("\n");
                     final int initWordLength = Settings.getInitWord().length();
-                    for (int i = 0; i < scoreByOrder.size(); i++) {
-                        int score = scoreByOrder.get(i);
-                        resultStr.append(score == 0 ? "x" : (score == 1 ? "o" : "v"));
-                        if (i % initWordLength + 1 == initWordLength)
-                            resultStr.append("\n");
+                    // Boards are shared one after another, separated by an empty line.
+                    for (ArrayList<Integer> scoreByOrder : scoresByBoard) {
+                        resultStr.append("\n");
+                        for (int i = 0; i < scoreByOrder.size(); i++) {
+                            int score = scoreByOrder.get(i);
+                            resultStr.append(score == 0 ? "x" : (score == 1 ? "o" : "v"));
+                            if (i % initWordLength + 1 == initWordLength)
+                                resultStr.append("\n");
+                        }
                     }
                     StringSelection stringSelection = new StringSelection(resultStr.toString());
                     Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
@@ -259,7 +283,44 @@ public class Results {
      */
     public void showResults(String initWord, int tries, boolean isSuccess, ArrayList<Integer> scoreByOrder,
                             boolean isOpenedHelper) {
-        this.scoreByOrder = scoreByOrder;
+        ArrayList<ArrayList<Integer>> scoresByBoard = new ArrayList<>();
+        scoresByBoard.add(scoreByOrder);
+        showResults(new String[]{initWord}, tries, isSuccess, scoresByBoard, isOpenedHelper);
+    }
+
+    /**
+     * This static method shows result window of a game with one board for each word given.
+     *
+     * @param initWords      a String array holding the words that the user tried to guess.
+     * @param tries          an int describing the number of tries used.
+     * @param isSuccess      a boolean describing the final status of the game.
+     * @param scoresByBoard  an {@code ArrayList} holding scored typed word history of each board.
+     * @param isOpenedHelper a boolean holding the status that whether the user opened helper window.
+     */
+    public void showResults(String[] initWords, int tries, boolean isSuccess,
+                            ArrayList<ArrayList<Integer>> scoresByBoard, boolean isOpenedHelper) {
+        showResults(initWords, tries, isSuccess, scoresByBoard, isOpenedHelper, -1, null);
+    }
+
+    /**
+     * This static method shows result window of a game with one board for each word given, along with its solve time
+     * and input latency if it was timed.
+     *
+     * @param initWords      a String array holding the words that the user tried to guess.
+     * @param tries          an int describing the number of tries used.
+     * @param isSuccess      a boolean describing the final status of the game.
+     * @param scoresByBoard  an {@code ArrayList} holding scored typed word history of each board.
+     * @param isOpenedHelper a boolean holding the status that whether the user opened helper window.
+     * @param solveNanos     a long describing the time from the first keystroke to the end of the game in
+     *                       nanoseconds, or -1 if the game was not timed.
+     * @param inputLatency   a {@code Metrics.Histogram} holding the latency from each keystroke to the board being
+     *                       painted in nanoseconds, or null if the game was not timed.
+     */
+    public void showResults(String[] initWords, int tries, boolean isSuccess,
+                            ArrayList<ArrayList<Integer>> scoresByBoard, boolean isOpenedHelper, long solveNanos,
+                            Metrics.Histogram inputLatency) {
+        this.solveNanos = solveNanos;
+        this.scoresByBoard = scoresByBoard;
         this.copiedReminder.setText("");
         this.isSuccess = isSuccess;
         this.isOpenedHelper = isOpenedHelper;
@@ -273,9 +334,29 @@ public class Results {
         resultBoard.setText(isSuccess ? "Èxit" : "Ha fallat");
         Game.setColor(resultBoard, isSuccess ? new Color(121, 167, 107) : new Color(198, 60, 60),
                 new Color(34, 139, 34));
-        wordBoard.setText(initWord);
+        // Shrink the font so that the words of every board fit in one line.
+        String words = String.join(" ", initWords);
+        wordBoard.setFont(wordBoard.getFont().deriveFont((float) Math.min(60, 800 / words.length())));
+        wordBoard.setText(words);
         triesBoard.setText("Intents: " + (isOpenedHelper ? "*" : "") + tries);
         counterBoard.setText("Guanyades: " + totalWins + "  |  Perdudes: " + totalLosses);
+        if (solveNanos < 0)
+            speedrunBoard.setText("");
+        else if (inputLatency == null || inputLatency.getCount() == 0)
+            speedrunBoard.setText("Temps: " + formatSeconds(solveNanos));
+        else
+            speedrunBoard.setText(String.format("Temps: %s  |  Latència p50 %.1f ms, p99 %.1f ms",
+                    formatSeconds(solveNanos), inputLatency.getP50() / 1e6, inputLatency.getP99() / 1e6));
         window.setVisible(true);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the duration given in seconds with two decimals.
+     *
+     * @param nanos a long describing a duration in nanoseconds.
+     * @return a String describing the duration, such as "12.34 s".
+     */
+    private static String formatSeconds(long nanos) {
+        return String.format("%.2f s", nanos / 1e9);
+    }
+}
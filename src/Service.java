@@ -20,14 +20,25 @@
  */
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 /**
  * The {@code Service} class loads words from {@code Trimmed.csv} and stores indexes of those words, providing all the
@@ -46,30 +57,211 @@ public class Service {
      * A nested HashMap storing the difficulty of words from the given source, which should be attained by
      * <var>length</var> and then the word itself.
      */
-    private HashMap<Integer, HashMap<String, Integer>> indexByLength;
+    private volatile HashMap<Integer, HashMap<String, Integer>> indexByLength;
 
     /**
-     * A nested HashMap storing the words from the given source, which should be attained first by
-     * <var>length</var> and then <var>difficulty</var>.
+     * A nested HashMap storing the words from the given source as IDs of {@link Service#wordTable}, which should be
+     * attained first by <var>length</var> and then <var>difficulty</var>.
      */
-    private HashMap<Integer, HashMap<Integer, ArrayList<String>>> wordByLengthThenDifficulty;
+    private volatile HashMap<Integer, HashMap<Integer, WordList>> wordByLengthThenDifficulty;
 
     /**
      * Optional Catalan word stores (loaded from Trimmed_ca.csv if present).
      */
-    private HashMap<Integer, HashMap<String, Integer>> indexByLengthCatalan;
-    private HashMap<Integer, HashMap<Integer, ArrayList<String>>> wordByLengthThenDifficultyCatalan;
+    private volatile HashMap<Integer, HashMap<String, Integer>> indexByLengthCatalan;
+    private volatile HashMap<Integer, HashMap<Integer, WordList>> wordByLengthThenDifficultyCatalan;
 
     /**
      * Per-source thematic dictionaries loaded from individual CSV files.
      */
-    private HashMap<String, HashMap<Integer, HashMap<String, Integer>>> thematicIndex;
-    private HashMap<String, HashMap<Integer, HashMap<Integer, ArrayList<String>>>> thematicWords;
+    private ConcurrentHashMap<String, HashMap<Integer, HashMap<String, Integer>>> thematicIndex =
+            new ConcurrentHashMap<>();
+    private ConcurrentHashMap<String, HashMap<Integer, HashMap<Integer, WordList>>> thematicWords =
+            new ConcurrentHashMap<>();
+
+    /**
+     * A nested HashMap storing the optional DAWG backend, which should be attained first by <var>wordSource</var> and
+     * then <var>length</var>. It stays empty unless the backend is enabled through {@link Service#DAWG_PROPERTY}.
+     */
+    private ConcurrentHashMap<String, HashMap<Integer, Dawg>> dawgBySource = new ConcurrentHashMap<>();
+
+    /**
+     * An IdentityHashMap storing the DAWG backend by the index it was built from, so that word sources backed by the
+     * same index share the same graphs.
+     */
+    private IdentityHashMap<HashMap<Integer, HashMap<String, Integer>>, HashMap<Integer, Dawg>> dawgByIndex =
+            new IdentityHashMap<>();
+
+    /**
+     * A static constant holding the system property that selects the dictionary backend, where {@code dawg} enables
+     * the DAWG backend for exact lookups and helper queries.
+     */
+    public static final String DAWG_PROPERTY = "eWordle.dictionaryBackend";
+
+    /**
+     * A static constant holding the system property that overrides {@link Service#HELPER_CACHE_SIZE}.
+     */
+    public static final String HELPER_CACHE_PROPERTY = "eWordle.helperCacheSize";
+
+    /**
+     * A static constant holding the default number of helper results cached.
+     */
+    private static final int HELPER_CACHE_SIZE = 256;
+
+    /**
+     * A {@code LruCache} holding helper results by word source, word length, normalized query, dictionary version and
+     * difficulty overlay.
+     */
+    private final LruCache<String, String> helperCache =
+            new LruCache<>(Integer.getInteger(HELPER_CACHE_PROPERTY, HELPER_CACHE_SIZE));
+
+    /**
+     * A static constant holding the number of words between two checks of cancellation.
+     */
+    private static final int HELPER_BATCH_SIZE = 256;
+
+    /**
+     * A static constant holding the number of helper results shown, which are the best ranked ones.
+     */
+    private static final int HELPER_TOP_K = 100;
+
+    /**
+     * A static constant holding the minimum time in nanoseconds between two partial helper results.
+     */
+    private static final long HELPER_PROGRESS_INTERVAL = 100_000_000L;
+
+    /**
+     * A {@code ConcurrentHashMap} holding the parsed CSV files by content hash and length range, see
+     * {@link Service#loadCsv(String)}.
+     */
+    private ConcurrentHashMap<String, ParsedCsv> parsedByDigest = new ConcurrentHashMap<>();
+
+    /**
+     * A {@code WordTable} holding the canonical instance of every word loaded, shared by all word sources.
+     */
+    private volatile WordTable wordTable = new WordTable();
+
+    /**
+     * A {@code ConcurrentHashMap} holding the positional letter frequencies of each word source by word length,
+     * computed once the word source is loaded.
+     */
+    private ConcurrentHashMap<String, HashMap<Integer, LetterFrequency>> frequencyBySource = new ConcurrentHashMap<>();
+
+    /**
+     * A static constant holding the number of words suggested for a word not found.
+     */
+    public static final int SUGGESTION_COUNT = 3;
+
+    /**
+     * A static constant holding the weight of a word in random draws by difficulty from 1 to 3, after the overlay,
+     * so that common words are drawn more often and a word recalibrated as harder is drawn less often.
+     */
+    private static final int[] DRAW_WEIGHTS = new int[]{4, 2, 1};
+
+    /**
+     * A static constant holding the result of looking up a word missing from the word source.
+     */
+    private static final String NOT_FOUND = "No trobat";
+
+    /**
+     * A {@code ConcurrentHashMap} holding the suggestion index of each word source and word length, built on the
+     * first lookup, see {@link Service#suggestWords(String, String)}.
+     */
+    private ConcurrentHashMap<String, SuggestionIndex> suggestionIndexByShard = new ConcurrentHashMap<>();
+
+    /**
+     * A {@code ConcurrentHashMap} holding the opening books loaded or computed by content hash, which stay valid
+     * across initializations as equal hashes mean equal candidates.
+     */
+    private final ConcurrentHashMap<String, OpeningBook> openingBookByHash = new ConcurrentHashMap<>();
+
+    /**
+     * A Set holding the content hashes whose opening book is being computed.
+     */
+    private final Set<String> openingBooksPending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * A static {@code ExecutorService} computing opening books in the background, one at a time.
+     */
+    private static final ExecutorService OPENING_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "eWordle-openings");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * A {@code DifficultyCalibrator} recording the outcome of every game, which publishes the difficulty overlay.
+     */
+    private final DifficultyCalibrator calibrator = new DifficultyCalibrator(
+            eWordle.getDataDirectory().resolve(DifficultyCalibrator.OUTCOME_FILE), this::publishDifficultyOverlay);
+
+    /**
+     * A {@code DifficultyOverlay} holding the difficulty of the words played, which takes precedence over the
+     * difficulty in the files, and the words drawn under it.
+     */
+    private volatile DifficultyOverlay difficultyOverlay = new DifficultyOverlay(Collections.emptyMap());
+
+    /**
+     * An int holding the version of the loaded dictionaries, which increases on every initialization so that cached
+     * helper results of older dictionaries are never reused.
+     */
+    private volatile int dictionaryVersion = 0;
+
+    /**
+     * A {@code ConcurrentHashMap} holding the dictionary fingerprint of each word source computed since loading.
+     */
+    private ConcurrentHashMap<String, Long> fingerprintBySource = new ConcurrentHashMap<>();
+
+    /**
+     * A static constant holding the file name, under the data directory, of the no-repeat cursors.
+     */
+    public static final String CURSOR_FILE = "cursors.properties";
+
+    /**
+     * A {@code Properties} holding the no-repeat cursors by word source, word length and difficulty level, which is
+     * read on the first no-repeat draw.
+     */
+    private Properties cursors;
+
+    /**
+     * A boolean holding whether a cursor has moved since {@link Service#CURSOR_FILE} was last written.
+     */
+    private boolean cursorsDirty;
+
+    /**
+     * A static {@code ExecutorService} writing {@link Service#CURSOR_FILE} in the background, one write at a time.
+     */
+    private static final ExecutorService CURSOR_WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "eWordle-cursors");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * A HashMap storing the <var>difficulty</var> of <var>wordSource</var>
      */
-    private HashMap<String, Integer> difficultyByWordSource;
+    private volatile HashMap<String, Integer> difficultyByWordSource;
+
+    /**
+     * A Set storing the word sources that have been loaded and are ready to be played.
+     */
+    private final Set<String> readySources = ConcurrentHashMap.newKeySet();
+
+    /**
+     * A String holding the word source that the background loader should load next.
+     */
+    private volatile String preferredSource;
+
+    /**
+     * An int holding the minimum word length loaded.
+     */
+    private int minLength;
+
+    /**
+     * An int holding the maximum word length loaded.
+     */
+    private int maxLength;
 
     /**
      * Mapping from word source name to CSV filename for thematic sources.
@@ -99,7 +291,8 @@ public class Service {
     }
 
     /**
-     * Returns a string representation of initialization results.
+     * Returns a string representation of initialization results, where all word sources are loaded on the calling
+     * thread.
      *
      * <p>
      * If the returning String is empty, the initialization process is successfully completed. Otherwise, the
@@ -110,134 +303,449 @@ public class Service {
      * @return a string representation of initialization results.
      */
     public String initService(String[] wordSources, String[] wordLengths) {
-        final int minLength = Integer.parseInt(wordLengths[0]);
-        final int maxLength = Integer.parseInt(wordLengths[wordLengths.length - 1]);
-        difficultyByWordSource = new HashMap<>(); //  otro HashMap pero para la dificultad de la palabra @ByGamer01
+        return initService(wordSources, wordLengths, (wordSource, loadResult) -> {
+        });
+    }
+
+    /**
+     * Returns a string representation of initialization results, where all word sources are loaded on the calling
+     * thread in the order given and <var>onSourceLoaded</var> is called right after each one, so that the cost of
+     * each word source can be measured. Word sources that another one depends on are loaded along with it.
+     *
+     * @param wordSources    a String array containing word sources ordered by difficulty increasingly.
+     * @param wordLengths    a String array containing word lengths ordered increasingly.
+     * @param onSourceLoaded a {@code BiConsumer<String, String>} receiving each word source and its result.
+     * @return a string representation of initialization results.
+     */
+    public String initService(String[] wordSources, String[] wordLengths,
+                              BiConsumer<String, String> onSourceLoaded) {
+        prepareService(wordSources, wordLengths);
+        for (String wordSource : wordSources) {
+            String loadResult = loadSource(wordSource);
+            onSourceLoaded.accept(wordSource, loadResult);
+            if (loadResult.length() > 0)
+                return loadResult;
+        }
+        return "";
+    }
+
+    /**
+     * This method starts loading all word sources on a background thread and returns immediately, so that the caller
+     * may show its window while words are loading.
+     *
+     * <p>
+     * Word sources are loaded one by one, where the one passed to {@link Service#prioritizeSource(String)} (initially
+     * <var>preferredSource</var>) is always loaded next. Once a word source is ready, <var>onSourceLoaded</var> is
+     * called on the loading thread with the word source and its initialization result, in the same format of
+     * {@link Service#initService(String[], String[])}.
+     *
+     * @param wordSources     a String array containing word sources ordered by difficulty increasingly.
+     * @param wordLengths     a String array containing word lengths ordered increasingly.
+     * @param preferredSource a String representing the word source to be loaded first.
+     * @param onSourceLoaded  a {@code BiConsumer<String, String>} receiving each word source and its result.
+     */
+    public void initServiceInBackground(String[] wordSources, String[] wordLengths, String preferredSource,
+                                        BiConsumer<String, String> onSourceLoaded) {
+        prepareService(wordSources, wordLengths);
+        this.preferredSource = preferredSource;
+        calibrator.start();
+        Thread loader = new Thread(() -> {
+            ArrayList<String> pending = new ArrayList<>(Arrays.asList(wordSources));
+            while (!pending.isEmpty()) {
+                String next = pending.contains(this.preferredSource) ? this.preferredSource : pending.get(0);
+                String loadResult = loadSource(next);
+                // Loading one word source may load others it depends on, e.g. "Tot".
+                for (Iterator<String> iterator = pending.iterator(); iterator.hasNext(); ) {
+                    String wordSource = iterator.next();
+                    if (wordSource.equals(next) || readySources.contains(wordSource)) {
+                        iterator.remove();
+                        onSourceLoaded.accept(wordSource, wordSource.equals(next) ? loadResult : "");
+                    }
+                }
+            }
+        }, "eWordle-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * This method asks the background loader to load the given word source next if it is not ready yet.
+     *
+     * @param wordSource a String representing the word source selected by the user.
+     */
+    public void prioritizeSource(String wordSource) {
+        preferredSource = wordSource;
+    }
+
+    /**
+     * Returns whether the given word source has been loaded.
+     *
+     * @param wordSource a String representing the word source.
+     * @return true if <var>wordSource</var> is ready to be played.
+     */
+    public boolean isSourceReady(String wordSource) {
+        return readySources.contains(wordSource);
+    }
+
+    /**
+     * This method resets all loaded words and prepares the configuration shared by every word source.
+     *
+     * @param wordSources a String array containing word sources ordered by difficulty increasingly.
+     * @param wordLengths a String array containing word lengths ordered increasingly.
+     */
+    private synchronized void prepareService(String[] wordSources, String[] wordLengths) {
+        minLength = Integer.parseInt(wordLengths[0]);
+        maxLength = Integer.parseInt(wordLengths[wordLengths.length - 1]);
+        dictionaryVersion++;
+        helperCache.clear();
+        Metrics.gauge("helperCache.hits", helperCache::getHits);
+        Metrics.gauge("helperCache.misses", helperCache::getMisses);
+        readySources.clear();
+        HashMap<String, Integer> difficulties = new HashMap<>(); //  otro HashMap pero para la dificultad de la palabra @ByGamer01
         for (int i = 0; i < wordSources.length; i++)
-            difficultyByWordSource.put(wordSources[i], i + 1);
-        indexByLength = new HashMap<>();
-        wordByLengthThenDifficulty = new HashMap<>();
+            difficulties.put(wordSources[i], i + 1);
+        difficultyByWordSource = difficulties;
+        indexByLength = null;
+        wordByLengthThenDifficulty = null;
+        indexByLengthCatalan = null;
+        wordByLengthThenDifficultyCatalan = null;
+        thematicIndex = new ConcurrentHashMap<>();
+        thematicWords = new ConcurrentHashMap<>();
+        dawgBySource = new ConcurrentHashMap<>();
+        dawgByIndex = new IdentityHashMap<>();
+        fingerprintBySource = new ConcurrentHashMap<>();
+        frequencyBySource = new ConcurrentHashMap<>();
+        suggestionIndexByShard = new ConcurrentHashMap<>();
+        wordTable = new WordTable();
+        parsedByDigest = new ConcurrentHashMap<>();
+        // The words drawn under the overlay refer to the dictionaries just dropped.
+        difficultyOverlay = new DifficultyOverlay(difficultyOverlay.difficultyBySource);
+    }
+
+    /**
+     * Returns a string representation of the loading result of one word source, loading the word sources it depends
+     * on first. Nothing is loaded again if the word source is already ready.
+     *
+     * @param wordSource a String representing the word source to be loaded.
+     * @return an empty String if successfully loaded, or error details otherwise.
+     */
+    private synchronized String loadSource(String wordSource) {
+        if (readySources.contains(wordSource))
+            return "";
+        final long startNanos = System.nanoTime();
+        if ("Català".equals(wordSource)) {
+            // Load optional Catalan trimmed file (Trimmed_ca.csv).
+            HashMap<Integer, HashMap<String, Integer>> idx = new HashMap<>();
+            HashMap<Integer, HashMap<Integer, WordList>> words = new HashMap<>();
+            try {
+                String caPath = findCsvPath("Trimmed.csv"); // Removido el trimmed_ca.csv
+                if (caPath != null) {
+                    ParsedCsv parsed = loadCsv(caPath);
+                    idx = parsed.idx;
+                    words = parsed.words;
+                }
+            } catch (Exception ignored) {
+            }
+            // Fall back to main Trimmed.csv if no Catalan-specific file was found.
+            if (idx.isEmpty() || words.isEmpty()) {
+                String mainResult = loadMainIndex();
+                if (mainResult.length() > 0)
+                    return mainResult;
+            }
+            indexByLengthCatalan = idx.isEmpty() ? indexByLength : idx;
+            wordByLengthThenDifficultyCatalan = words.isEmpty() ? wordByLengthThenDifficulty : words;
+        } else if (SOURCE_TO_CSV.containsKey(wordSource)) {
+            // Load the thematic CSV file of current word source.
+            String csvPath = findCsvPath(SOURCE_TO_CSV.get(wordSource));
+            if (csvPath != null) {
+                try {
+                    ParsedCsv parsed = loadCsv(csvPath);
+                    if (!parsed.idx.isEmpty()) {
+                        thematicWords.put(wordSource, parsed.words);
+                        thematicIndex.put(wordSource, parsed.idx);
+                    }
+                } catch (Exception ignored) {
+                }
+            }
+            if (!thematicIndex.containsKey(wordSource)) {
+                String mainResult = loadMainIndex();
+                if (mainResult.length() > 0)
+                    return mainResult;
+            }
+        } else if ("Tot".equals(wordSource)) {
+            // "Tot" combina Catalan con todas las tematicas
+            String catalanResult = loadSource("Català");
+            if (catalanResult.length() > 0)
+                return catalanResult;
+            for (String sourceName : SOURCE_TO_CSV.keySet())
+                loadSource(sourceName);
+            long mergeStartNanos = System.nanoTime();
+            HashMap<Integer, HashMap<String, Integer>> totIdx = new HashMap<>();
+            HashMap<Integer, HashMap<Integer, WordList>> totWords = new HashMap<>();
+            // Add Catalan words first.
+            mergeDictionaries(totIdx, totWords, indexByLengthCatalan, wordByLengthThenDifficultyCatalan);
+            // Add all thematic words.
+            for (String sourceName : SOURCE_TO_CSV.keySet())
+                if (thematicIndex.containsKey(sourceName))
+                    mergeDictionaries(totIdx, totWords, thematicIndex.get(sourceName), thematicWords.get(sourceName));
+            Metrics.histogram("initService.phaseTime.merge").recordSince(mergeStartNanos);
+            if (!totIdx.isEmpty()) {
+                thematicWords.put("Tot", totWords);
+                thematicIndex.put("Tot", totIdx);
+            } else {
+                String mainResult = loadMainIndex();
+                if (mainResult.length() > 0)
+                    return mainResult;
+            }
+        } else {
+            String mainResult = loadMainIndex();
+            if (mainResult.length() > 0)
+                return mainResult;
+        }
+
+        // Build the optional DAWG backend, sharing graphs between sources backed by the same index.
+        if ("dawg".equalsIgnoreCase(System.getProperty(DAWG_PROPERTY))) {
+            long dawgStartNanos = System.nanoTime();
+            HashMap<Integer, HashMap<String, Integer>> idx = getIndexForSource(wordSource);
+            if (!dawgByIndex.containsKey(idx)) {
+                HashMap<Integer, Dawg> dawgByLength = new HashMap<>();
+                for (Map.Entry<Integer, HashMap<String, Integer>> lengthEntry : idx.entrySet())
+                    dawgByLength.put(lengthEntry.getKey(), new Dawg(lengthEntry.getKey(), lengthEntry.getValue()));
+                dawgByIndex.put(idx, dawgByLength);
+            }
+            dawgBySource.put(wordSource, dawgByIndex.get(idx));
+            Metrics.histogram("initService.phaseTime.dawg").recordSince(dawgStartNanos);
+        }
+        // Count letters by position, which ranks the helper results.
+        long frequencyStartNanos = System.nanoTime();
+        HashMap<Integer, LetterFrequency> frequencyByLength = new HashMap<>();
+        for (Map.Entry<Integer, HashMap<String, Integer>> lengthEntry : getIndexForSource(wordSource).entrySet())
+            frequencyByLength.put(lengthEntry.getKey(),
+                    new LetterFrequency(lengthEntry.getKey(), lengthEntry.getValue().keySet()));
+        frequencyBySource.put(wordSource, frequencyByLength);
+        Metrics.histogram("initService.phaseTime.frequency").recordSince(frequencyStartNanos);
+        readySources.add(wordSource);
+        Metrics.histogram("initService.loadTime." + wordSource).recordSince(startNanos);
+        for (Map.Entry<Integer, HashMap<String, Integer>> lengthEntry : getIndexForSource(wordSource).entrySet()) {
+            GameEvents.DictionaryShardLoad event = new GameEvents.DictionaryShardLoad();
+            if (event.shouldCommit()) {
+                event.source = wordSource;
+                event.length = lengthEntry.getKey();
+                event.wordCount = lengthEntry.getValue().size();
+                for (String word : lengthEntry.getValue().keySet())
+                    event.bytes += word.getBytes(StandardCharsets.UTF_8).length;
+                event.commit();
+            }
+        }
+        Metrics.gauge("initService.words." + wordSource, () -> countWords(wordSource));
+        return "";
+    }
 
+    /**
+     * Returns the number of distinct words loaded for the given word source.
+     *
+     * @param wordSource a String representing the word source.
+     * @return a long describing the number of words of all lengths, or 0 if not ready.
+     */
+    private long countWords(String wordSource) {
+        if (!isSourceReady(wordSource))
+            return 0;
+        long count = 0;
+        for (HashMap<String, Integer> difficultyByWord : getIndexForSource(wordSource).values())
+            count += difficultyByWord.size();
+        return count;
+    }
+
+    /**
+     * Returns a string representation of the loading result of the main word source ({@code Trimmed.csv}), which
+     * is loaded only once.
+     *
+     * @return an empty String if successfully loaded, or error details otherwise.
+     */
+    private synchronized String loadMainIndex() {
+        if (indexByLength != null)
+            return "";
         /* Load words from main word source (Trimmed.csv). */
+        ParsedCsv parsed;
         try {
             String FilePath = findTrimmedCsvPath();
             if (FilePath == null)
                 return "No s'ha trobat Trimmed.csv";
-            FileReader fileReader = new FileReader(FilePath);
-            BufferedReader bufReader = new BufferedReader(fileReader);
-            for (String curLine = bufReader.readLine(); curLine != null; curLine = bufReader.readLine()) {
-                String[] items = curLine.split(",");
-                if (items.length != 2)
-                    continue;
-                int difficulty;
-                try { difficulty = Integer.parseInt(items[1].trim()); } catch (NumberFormatException e) { continue; }
-                String word = items[0].toUpperCase();
-                int wordLength = word.length();
-                if (wordLength < minLength || wordLength > maxLength)
-                    continue;
-                indexByLength.putIfAbsent(wordLength, new HashMap<>());
-                indexByLength.get(wordLength).put(word, difficulty);
-
-                wordByLengthThenDifficulty.putIfAbsent(wordLength, new HashMap<>());
-                HashMap<Integer, ArrayList<String>> currentWordByLengthThenDifficulty =
-                        wordByLengthThenDifficulty.get(wordLength);
-                currentWordByLengthThenDifficulty.putIfAbsent(difficulty, new ArrayList<>());
-                currentWordByLengthThenDifficulty.get(difficulty).add(word);
-            }
+            parsed = loadCsv(FilePath);
         } catch (Exception e) {
             return e.toString();
         }
-        
-        // Load optional Catalan trimmed file (Trimmed_ca.csv).
-        indexByLengthCatalan = new HashMap<>();
-        wordByLengthThenDifficultyCatalan = new HashMap<>();
-        try {
-            String caPath = findCsvPath("Trimmed.csv"); // Removido el trimmed_ca.csv
-            if (caPath != null) {
-                loadCsvInto(caPath, minLength, maxLength, indexByLengthCatalan, wordByLengthThenDifficultyCatalan);
-            }
-        } catch (Exception ignored) {
+        wordByLengthThenDifficulty = parsed.words;
+        indexByLength = parsed.idx;
+        return "";
+    }
+
+    /**
+     * The {@code ParsedCsv} class holds the words of one CSV file by length, which are never modified once parsed, so
+     * that every word source backed by the same content shares them.
+     */
+    private static class ParsedCsv {
+        /**
+         * A HashMap holding the difficulty of each word by word length.
+         */
+        final HashMap<Integer, HashMap<String, Integer>> idx = new HashMap<>();
+
+        /**
+         * A HashMap holding the words of each difficulty by word length, as IDs of {@link Service#wordTable}.
+         */
+        final HashMap<Integer, HashMap<Integer, WordList>> words = new HashMap<>();
+    }
+
+    /**
+     * The {@code DifficultyOverlay} class holds one difficulty overlay published and the words drawn under it, which
+     * are computed lazily.
+     */
+    private static class DifficultyOverlay {
+        /**
+         * A Map holding the difficulty by word source and then by word, which takes precedence over the difficulty in
+         * the file of the word source.
+         */
+        final Map<String, Map<String, Integer>> difficultyBySource;
+
+        /**
+         * A {@code ConcurrentHashMap} holding the words drawn by word source, word length and maximum difficulty.
+         */
+        final ConcurrentHashMap<String, EligibleWords> eligibleByKey = new ConcurrentHashMap<>();
+
+        /**
+         * A {@code ConcurrentHashMap} holding the hash of the overlay of each word source, which is computed lazily.
+         */
+        final ConcurrentHashMap<String, Integer> hashBySource = new ConcurrentHashMap<>();
+
+        /**
+         * The only constructor for class {@code DifficultyOverlay}.
+         *
+         * @param difficultyBySource a Map holding the difficulty by word source and then by word.
+         */
+        DifficultyOverlay(Map<String, Map<String, Integer>> difficultyBySource) {
+            this.difficultyBySource = difficultyBySource;
         }
 
-        // Fall back to main Trimmed.csv if no Catalan-specific file was found.
-        if (indexByLengthCatalan.isEmpty()) {
-            indexByLengthCatalan = indexByLength;
+        /**
+         * Returns the overlay of one word source.
+         *
+         * @param wordSource a String representing the word source.
+         * @return a Map holding the difficulty by word, which is empty if no word of the source is recalibrated.
+         */
+        Map<String, Integer> of(String wordSource) {
+            return difficultyBySource.getOrDefault(wordSource, Collections.emptyMap());
         }
-        if (wordByLengthThenDifficultyCatalan.isEmpty()) {
-            wordByLengthThenDifficultyCatalan = wordByLengthThenDifficulty;
+
+        /**
+         * Returns the hash of the overlay of one word source, so that results depending on it can be cached by it.
+         *
+         * @param wordSource a String representing the word source.
+         * @return an int describing the hash of {@link DifficultyOverlay#of(String)}.
+         */
+        int hashOf(String wordSource) {
+            return hashBySource.computeIfAbsent(wordSource, source -> of(source).hashCode());
         }
+    }
 
-        // Load thematic CSV files for each word source.
-        thematicIndex = new HashMap<>();
-        thematicWords = new HashMap<>();
-        for (Map.Entry<String, String> entry : SOURCE_TO_CSV.entrySet()) {
-            String sourceName = entry.getKey();
-            String csvFile = entry.getValue();
-            String csvPath = findCsvPath(csvFile);
-            if (csvPath != null) {
-                HashMap<Integer, HashMap<String, Integer>> idx = new HashMap<>();
-                HashMap<Integer, HashMap<Integer, ArrayList<String>>> words = new HashMap<>();
-                try {
-                    loadCsvInto(csvPath, minLength, maxLength, idx, words);
-                    if (!idx.isEmpty()) {
-                        thematicIndex.put(sourceName, idx);
-                        thematicWords.put(sourceName, words);
-                    }
-                } catch (Exception ignored) {
-                }
-            }
+    /**
+     * The {@code EligibleWords} class holds the words that may be drawn under one overlay.
+     */
+    private static class EligibleWords {
+        /**
+         * A {@code WordList} holding the words in the order of the files.
+         */
+        final WordList words;
+
+        /**
+         * A long array holding, for each word in {@link EligibleWords#words}, the sum of the draw weights up to and
+         * including it, see {@link Service#DRAW_WEIGHTS}.
+         */
+        long[] cumulativeWeights;
+
+        /**
+         * A long holding a hash of the words included or excluded by the overlay only, which is 0 if the overlay
+         * changes nothing, so that no-repeat cursors start again only when the words drawn change.
+         */
+        long overlayHash;
+
+        /**
+         * A String holding the content hash naming the opening book of the words, computed on first use.
+         */
+        volatile String contentHash;
+
+        /**
+         * The only constructor for class {@code EligibleWords}.
+         *
+         * @param wordTable a {@code WordTable} numbering the words.
+         */
+        EligibleWords(WordTable wordTable) {
+            this.words = new WordList(wordTable);
         }
+    }
 
-        // "Tot" combina Catalan con todas las tematicas
-        HashMap<Integer, HashMap<String, Integer>> totIdx = new HashMap<>();
-        HashMap<Integer, HashMap<Integer, ArrayList<String>>> totWords = new HashMap<>();
-        // Add Catalan words first.
-        mergeDictionaries(totIdx, totWords, indexByLengthCatalan, wordByLengthThenDifficultyCatalan);
-        // Add all thematic words.
-        for (String sourceName : thematicIndex.keySet()) {
-            mergeDictionaries(totIdx, totWords, thematicIndex.get(sourceName), thematicWords.get(sourceName));
+    /**
+     * Returns the words of the CSV file given, parsing it only if no file with the same content has been parsed since
+     * the service was prepared, where content is compared by {@link FileDigests}.
+     *
+     * @param path a String describing the path of the CSV file.
+     * @return a {@code ParsedCsv}, which may be shared with other word sources and must not be modified.
+     * @throws Exception if the file cannot be read.
+     */
+    private ParsedCsv loadCsv(String path) throws Exception {
+        long startNanos = System.nanoTime();
+        String key;
+        try {
+            key = FileDigests.getInstance().digest(Paths.get(path)) + "|" + minLength + "|" + maxLength;
+        } catch (IOException e) {
+            key = null;
         }
-        if (!totIdx.isEmpty()) {
-            thematicIndex.put("Tot", totIdx);
-            thematicWords.put("Tot", totWords);
+        Metrics.histogram("initService.phaseTime.digest").recordSince(startNanos);
+        ParsedCsv parsed = key == null ? null : parsedByDigest.get(key);
+        if (parsed != null) {
+            Metrics.counter("loadCsv.reused").increment();
+            return parsed;
         }
-
-        return "";
+        parsed = new ParsedCsv();
+        long parseStartNanos = System.nanoTime();
+        loadCsvInto(path, minLength, maxLength, parsed.idx, parsed.words);
+        Metrics.histogram("initService.phaseTime.parse").recordSince(parseStartNanos);
+        if (key != null)
+            parsedByDigest.put(key, parsed);
+        return parsed;
     }
 
     /**
-     * Load a CSV file (word,difficulty) into the given index and words maps.
+     * This method parses the CSV file given with {@link WordCsvParser} and adds every word once, keeping its first
+     * row, to <var>idx</var> and <var>words</var>.
+     *
+     * @param path      a String describing the path of a UTF-8 CSV file.
+     * @param minLength an int describing the minimum word length kept.
+     * @param maxLength an int describing the maximum word length kept.
+     * @param idx       a HashMap receiving the difficulty of each word by word length.
+     * @param words     a HashMap receiving the words of each difficulty by word length.
+     * @throws IOException if the file cannot be read.
      */
     private void loadCsvInto(String path, int minLength, int maxLength,
                               HashMap<Integer, HashMap<String, Integer>> idx,
-                              HashMap<Integer, HashMap<Integer, ArrayList<String>>> words) throws Exception {
-        FileReader fr = new FileReader(path);
-        BufferedReader br = new BufferedReader(fr);
-        for (String curLine = br.readLine(); curLine != null; curLine = br.readLine()) {
-            String[] items = curLine.split(",");
-            if (items.length != 2) continue;
-            int difficulty;
-            try { difficulty = Integer.parseInt(items[1].trim()); } catch (NumberFormatException e) { continue; }
-            String word = items[0].toUpperCase();
+                              HashMap<Integer, HashMap<Integer, WordList>> words) throws IOException {
+        WordCsvParser.parse(Paths.get(path), minLength, maxLength, wordTable, (word, difficulty) -> {
             int wordLength = word.length();
-            if (wordLength < minLength || wordLength > maxLength) continue;
-            idx.putIfAbsent(wordLength, new HashMap<>());
-            idx.get(wordLength).put(word, difficulty);
-            words.putIfAbsent(wordLength, new HashMap<>());
-            HashMap<Integer, ArrayList<String>> m = words.get(wordLength);
-            m.putIfAbsent(difficulty, new ArrayList<>());
-            m.get(difficulty).add(word);
-        }
-        br.close();
+            HashMap<String, Integer> difficultyByWord = idx.computeIfAbsent(wordLength, length -> new HashMap<>());
+            // Repeated rows would be drawn more often and repeated within a no-repeat cycle.
+            if (difficultyByWord.putIfAbsent(word, difficulty) != null)
+                return;
+            words.computeIfAbsent(wordLength, length -> new HashMap<>())
+                    .computeIfAbsent(difficulty, level -> new WordList(wordTable)).add(word);
+        });
     }
 
     /**
      * Merge source dictionaries into target dictionaries (avoids duplicates by word).
      */
     private void mergeDictionaries(HashMap<Integer, HashMap<String, Integer>> targetIdx,
-                                    HashMap<Integer, HashMap<Integer, ArrayList<String>>> targetWords,
+                                    HashMap<Integer, HashMap<Integer, WordList>> targetWords,
                                     HashMap<Integer, HashMap<String, Integer>> sourceIdx,
-                                    HashMap<Integer, HashMap<Integer, ArrayList<String>>> sourceWords) {
+                                    HashMap<Integer, HashMap<Integer, WordList>> sourceWords) {
         for (Map.Entry<Integer, HashMap<String, Integer>> lengthEntry : sourceIdx.entrySet()) {
             int len = lengthEntry.getKey();
             targetIdx.putIfAbsent(len, new HashMap<>());
@@ -246,7 +754,7 @@ public class Service {
                     targetIdx.get(len).put(wordEntry.getKey(), wordEntry.getValue());
                     int diff = wordEntry.getValue();
                     targetWords.putIfAbsent(len, new HashMap<>());
-                    targetWords.get(len).putIfAbsent(diff, new ArrayList<>());
+                    targetWords.get(len).putIfAbsent(diff, new WordList(wordTable));
                     targetWords.get(len).get(diff).add(wordEntry.getKey());
                 }
             }
@@ -296,12 +804,24 @@ public class Service {
     /**
      * Returns the appropriate words map for a given word source.
      */
-    private HashMap<Integer, HashMap<Integer, ArrayList<String>>> getWordsForSource(String wordSource) {
+    private HashMap<Integer, HashMap<Integer, WordList>> getWordsForSource(String wordSource) {
         if ("Català".equals(wordSource)) return wordByLengthThenDifficultyCatalan;
         if (thematicWords.containsKey(wordSource)) return thematicWords.get(wordSource);
         return wordByLengthThenDifficulty;
     }
 
+    /**
+     * Returns the DAWG of the given word source and length if the DAWG backend is enabled.
+     *
+     * @param wordSource a String representing the word source.
+     * @param wordLength an int describing the word length.
+     * @return a {@code Dawg}, or null if the backend is disabled or no word has such length.
+     */
+    private Dawg getDawg(String wordSource, int wordLength) {
+        HashMap<Integer, Dawg> dawgByLength = dawgBySource.get(wordSource);
+        return dawgByLength == null ? null : dawgByLength.get(wordLength);
+    }
+
     /**
      * Returns a string representation of checking results.
      *
@@ -318,22 +838,136 @@ public class Service {
      * @return a string representation of checking results.
      */
     public String checkExistence(String word, String wordSource) {
+        if (!isSourceReady(wordSource))
+            return "El diccionari encara s'està carregant";
         if (word.length() == 0) return "";
-        HashMap<Integer, HashMap<String, Integer>> idx = getIndexForSource(wordSource); // HashMap para el indice de cada palabra
+        String result = findWord(word, wordSource);
+        Metrics.counter(result.length() == 0 ? "checkExistence.hit" : result.equals(NOT_FOUND) ?
+                "checkExistence.miss" : "checkExistence.tooDifficult").increment();
+        return result;
+    }
+
+    /**
+     * Returns a string representation of looking up a word of a word source that is ready, applying the difficulty
+     * cap of the word source, without recording any metric.
+     *
+     * @param word       a non-empty uppercase String to be looked up.
+     * @param wordSource a String representing a word source that is ready.
+     * @return an empty String if the word is valid, {@link Service#NOT_FOUND} if it is missing, or error details if it
+     *         is too difficult.
+     */
+    private String findWord(String word, String wordSource) {
         int length = word.length();
-        if (idx == null || !idx.containsKey(length) || !idx.get(length).containsKey(word))
-            return "No trobat";
+        int wordDifficulty;
+        Dawg dawg = getDawg(wordSource, length);
+        if (dawg != null) {
+            wordDifficulty = dawg.difficultyOf(word);
+            if (wordDifficulty == 0)
+                return NOT_FOUND;
+        } else {
+            HashMap<Integer, HashMap<String, Integer>> idx = getIndexForSource(wordSource); // HashMap para el indice de cada palabra
+            if (idx == null || !idx.containsKey(length) || !idx.get(length).containsKey(word))
+                return NOT_FOUND;
+            wordDifficulty = idx.get(length).get(word);
+        }
+        wordDifficulty = difficultyOverlay.of(wordSource).getOrDefault(word, wordDifficulty);
         // For thematic sources, all difficulties are valid.
-        if (thematicIndex.containsKey(wordSource) || "Català".equals(wordSource))
-            return "";
-        int difficulty = difficultyByWordSource.get(wordSource);
-        if (idx.get(length).get(word) > difficulty)
-            return "La paraula és massa difícil";
+        if (!thematicIndex.containsKey(wordSource) && !"Català".equals(wordSource)) {
+            int difficulty = difficultyByWordSource.get(wordSource);
+            if (wordDifficulty > difficulty)
+                return "La paraula és massa difícil";
+        }
         return "";
     }
 
     /**
-     * Returns a random word with {@code O(1)} time complexity under given restrictions.
+     * Returns the valid words nearest to the word given, for a guess rejected by
+     * {@link Service#checkExistence(String, String)}.
+     *
+     * <p>
+     * The words are found by {@link SuggestionIndex}, which only measures the few words one substitution, one adjacent
+     * transposition or only accents away, and are ranked by the edit distance without accents, then by the number of
+     * positions differing, then by how common their letters are at each position.
+     *
+     * @param word       an uppercase String rejected.
+     * @param wordSource a String representing the difficulty level of current setting.
+     * @return a String array holding at most {@link Service#SUGGESTION_COUNT} words, which is empty if none is near or
+     * the word source is not ready.
+     */
+    public String[] suggestWords(String word, String wordSource) {
+        final long startNanos = System.nanoTime();
+        SuggestionIndex index = getSuggestionIndex(wordSource, word.length());
+        if (index == null)
+            return new String[0];
+        LetterFrequency frequency = frequencyBySource.get(wordSource).get(word.length());
+        ArrayList<String> found = new ArrayList<>();
+        HashMap<String, Long> rankByWord = new HashMap<>();
+        int measured = index.search(word, (id, candidate, distance) -> {
+            if (candidate.equals(word) || findWord(candidate, wordSource).length() > 0)
+                return;
+            int differing = 0;
+            for (int i = 0; i < word.length(); i++)
+                if (word.charAt(i) != candidate.charAt(i))
+                    differing++;
+            found.add(candidate);
+            // Smaller is better: distance first, then differing positions, then the most common letters.
+            rankByWord.put(candidate, ((long) distance << 56) + ((long) differing << 48) - frequency.score(candidate));
+        });
+        found.sort(Comparator.comparingLong(rankByWord::get));
+        Metrics.histogram("suggestWords.time").recordSince(startNanos);
+        // The ratio of words measured to lookups shows how small a fraction of the dictionary each one touches.
+        Metrics.counter("suggestWords.calls").increment();
+        Metrics.counter("suggestWords.measured").add(measured);
+        return found.subList(0, Math.min(SUGGESTION_COUNT, found.size())).toArray(new String[0]);
+    }
+
+    /**
+     * This method builds the suggestion index of the word source and length given if it is not built yet, so that
+     * the first suggestion of a game is as fast as the others.
+     *
+     * @param wordSource a String representing the word source.
+     * @param wordLength an int describing the word length.
+     */
+    public void prepareSuggestions(String wordSource, int wordLength) {
+        getSuggestionIndex(wordSource, wordLength);
+    }
+
+    /**
+     * Returns the suggestion index of the word source and length given, which holds every word of any difficulty and
+     * is built on the first call.
+     *
+     * @param wordSource a String representing the word source.
+     * @param wordLength an int describing the word length.
+     * @return a {@code SuggestionIndex}, or null if the word source is not ready or no word has such length.
+     */
+    private SuggestionIndex getSuggestionIndex(String wordSource, int wordLength) {
+        if (!isSourceReady(wordSource))
+            return null;
+        HashMap<String, Integer> difficultyByWord = getIndexForSource(wordSource).get(wordLength);
+        if (difficultyByWord == null)
+            return null;
+        return suggestionIndexByShard.computeIfAbsent(wordSource + "|" + wordLength,
+                key -> new SuggestionIndex(difficultyByWord.keySet()));
+    }
+
+    /**
+     * Returns a read-only view of the words of the given word source, of any difficulty, by word length.
+     *
+     * @param wordSource a String representing the word source.
+     * @return a {@code Map} holding the base difficulty of each word by word length, or null if not ready.
+     */
+    public Map<Integer, Map<String, Integer>> getDictionary(String wordSource) {
+        if (!isSourceReady(wordSource))
+            return null;
+        TreeMap<Integer, Map<String, Integer>> dictionary = new TreeMap<>();
+        for (Map.Entry<Integer, HashMap<String, Integer>> lengthEntry : getIndexForSource(wordSource).entrySet())
+            dictionary.put(lengthEntry.getKey(), Collections.unmodifiableMap(lengthEntry.getValue()));
+        return Collections.unmodifiableMap(dictionary);
+    }
+
+
+    /**
+     * Returns a random word with {@code O(log n)} time complexity under given restrictions.
      *
      * <p>
      * If the returning String is not {@code "No trobat"}, the word returns is valid.
@@ -343,158 +977,565 @@ public class Service {
      * @return a random word or {@code "No trobat"} under given conditions.
      */
     public String generateRandomWord(int wordLength, String wordSource) {
-        HashMap<Integer, HashMap<Integer, ArrayList<String>>> wordsMap = getWordsForSource(wordSource);
-        if (wordsMap == null) return "No trobat";
-        HashMap<Integer, ArrayList<String>> wordByDifficulty = wordsMap.get(wordLength);
-        if (wordByDifficulty == null) return "No trobat";
+        return generateRandomWord(wordLength, wordSource, false);
+    }
+
+    /**
+     * Returns a random word with {@code O(log n)} time complexity under given restrictions.
+     *
+     * <p>
+     * Each word is drawn with the weight of its difficulty after the overlay, see {@link Service#DRAW_WEIGHTS}, so
+     * that the difficulty recalibrated from play changes how often a word comes up.
+     *
+     * <p>
+     * If <var>noRepeat</var> is true, words are drawn from a permutation cursor of the word source, word length and
+     * difficulty level instead, so that no word is repeated until every word has been drawn once. Cursors are kept
+     * across sessions in {@link Service#CURSOR_FILE} under the data directory, which is written in the background.
+     *
+     * @param wordLength an int describing the length restriction.
+     * @param wordSource a String representing the difficulty level of current setting.
+     * @param noRepeat   a boolean describing whether the words already drawn in the current cycle are skipped.
+     * @return a random word or {@code "No trobat"} under given conditions.
+     */
+    public String generateRandomWord(int wordLength, String wordSource, boolean noRepeat) {
+        String word = drawRandomWord(wordLength, wordSource, noRepeat);
+        saveCursors();
+        return word;
+    }
 
+    /**
+     * Returns a random word as described in {@link Service#generateRandomWord(int, String, boolean)}, where the
+     * cursors are moved in memory only.
+     *
+     * @param wordLength an int describing the length restriction.
+     * @param wordSource a String representing the difficulty level of current setting.
+     * @param noRepeat   a boolean describing whether the words already drawn in the current cycle are skipped.
+     * @return a random word or {@code "No trobat"} under given conditions.
+     */
+    private String drawRandomWord(int wordLength, String wordSource, boolean noRepeat) {
+        Metrics.counter("generateRandomWord.calls").increment();
+        if (!isSourceReady(wordSource)) return "No trobat";
+        int maxDifficulty = getMaxDifficulty(wordSource);
+        EligibleWords eligible = getEligibleWords(wordLength, wordSource, maxDifficulty);
+        if (eligible == null || eligible.words.isEmpty()) return "No trobat";
+        int total = eligible.words.size();
+        if (noRepeat)
+            return eligible.words.get(nextCursorIndex(wordSource + "|" + wordLength + "|" + maxDifficulty, total,
+                    getDictionaryFingerprint(wordSource) ^ eligible.overlayHash));
+        // Draw by weight: the first word whose cumulative weight exceeds a random point.
+        long[] cumulativeWeights = eligible.cumulativeWeights;
+        int index = Arrays.binarySearch(cumulativeWeights,
+                ThreadLocalRandom.current().nextLong(cumulativeWeights[total - 1]));
+        return eligible.words.get(index >= 0 ? index + 1 : -index - 1);
+    }
+
+    /**
+     * Returns <var>count</var> distinct random words under given restrictions, each drawn as described in
+     * {@link Service#generateRandomWord(int, String, boolean)}.
+     *
+     * @param count      an int describing the number of words, one for each board.
+     * @param wordLength an int describing the length restriction.
+     * @param wordSource a String representing the difficulty level of current setting.
+     * @param noRepeat   a boolean describing whether the words already drawn in the current cycle are skipped.
+     * @return a String array holding the words, or {@code {"No trobat"}} if there are not enough words under given
+     * conditions.
+     */
+    public String[] generateRandomWords(int count, int wordLength, String wordSource, boolean noRepeat) {
+        LinkedHashSet<String> words = new LinkedHashSet<>();
+        // A bounded number of draws, so that a word source smaller than count cannot loop forever.
+        for (int draw = 0; draw < count * 20 && words.size() < count; draw++) {
+            String word = drawRandomWord(wordLength, wordSource, noRepeat);
+            if ("No trobat".equals(word))
+                break;
+            words.add(word);
+        }
+        saveCursors();
+        return words.size() == count ? words.toArray(new String[0]) : new String[]{"No trobat"};
+    }
+
+    /**
+     * Returns every word under given restrictions, in the order of difficulty and then of the word source files.
+     *
+     * @param wordLength an int describing the length restriction.
+     * @param wordSource a String representing the difficulty level of current setting.
+     * @return a String array holding the words, which is empty if the word source is not ready.
+     */
+    public String[] getCandidateWords(int wordLength, String wordSource) {
+        if (!isSourceReady(wordSource)) return new String[0];
+        EligibleWords eligible = getEligibleWords(wordLength, wordSource, getMaxDifficulty(wordSource));
+        return eligible == null ? new String[0] : eligible.words.toArray();
+    }
+
+    /**
+     * Returns the maximum difficulty of the words drawn from the given word source.
+     *
+     * @param wordSource a String representing the word source.
+     * @return an int describing the maximum difficulty.
+     */
+    private int getMaxDifficulty(String wordSource) {
         // For thematic sources and Català, use all difficulty levels available.
-        int maxDifficulty;
-        if (thematicWords.containsKey(wordSource) || "Català".equals(wordSource)) {
-            maxDifficulty = 3; // Max difficulty in CSVs
-        } else {
-            maxDifficulty = difficultyByWordSource.get(wordSource);
+        if (thematicWords.containsKey(wordSource) || "Català".equals(wordSource))
+            return 3; // Max difficulty in CSVs
+        return difficultyByWordSource.get(wordSource);
+    }
+
+    /**
+     * Returns the words of the given word source and length whose difficulty, after the overlay, is at most
+     * <var>maxDifficulty</var>, in the order of difficulty in the files and then of the files. The result is computed
+     * once for each overlay published.
+     *
+     * @param wordLength    an int describing the length restriction.
+     * @param wordSource    a String representing a word source that is ready.
+     * @param maxDifficulty an int describing the maximum difficulty.
+     * @return an {@code EligibleWords}, or null if no word has such length.
+     */
+    private EligibleWords getEligibleWords(int wordLength, String wordSource, int maxDifficulty) {
+        HashMap<Integer, HashMap<Integer, WordList>> wordsMap = getWordsForSource(wordSource);
+        if (wordsMap == null || !wordsMap.containsKey(wordLength)) return null;
+        HashMap<Integer, WordList> wordByDifficulty = wordsMap.get(wordLength);
+        DifficultyOverlay overlay = difficultyOverlay;
+        return overlay.eligibleByKey.computeIfAbsent(wordSource + "|" + wordLength + "|" + maxDifficulty, key -> {
+            Map<String, Integer> sourceOverlay = overlay.of(wordSource);
+            EligibleWords eligible = new EligibleWords(wordTable);
+            int wordCount = 0;
+            for (WordList words : wordByDifficulty.values())
+                wordCount += words.size();
+            long[] cumulativeWeights = new long[wordCount];
+            long totalWeight = 0;
+            for (Integer difficulty : new TreeSet<>(wordByDifficulty.keySet())) {
+                WordList words = wordByDifficulty.get(difficulty);
+                for (int i = 0; i < words.size(); i++) {
+                    String word = words.get(i);
+                    int effectiveDifficulty = sourceOverlay.getOrDefault(word, difficulty);
+                    boolean included = effectiveDifficulty <= maxDifficulty;
+                    if (included) {
+                        totalWeight += DRAW_WEIGHTS[Math.max(1, Math.min(DRAW_WEIGHTS.length,
+                                effectiveDifficulty)) - 1];
+                        cumulativeWeights[eligible.words.size()] = totalWeight;
+                        eligible.words.add(words, i);
+                    }
+                    if (included != difficulty <= maxDifficulty)
+                        eligible.overlayHash = eligible.overlayHash * 31 + word.hashCode();
+                }
+            }
+            eligible.cumulativeWeights = Arrays.copyOf(cumulativeWeights, eligible.words.size());
+            return eligible;
+        });
+    }
+
+    /**
+     * Returns the opening book of the candidates of the word source and length given, loading it from the data
+     * directory if it is kept. Otherwise, it is computed in the background and this method returns null until it is
+     * ready, so that a word source file edited gets a new book once its candidates are hashed differently.
+     *
+     * @param wordSource a String representing the difficulty level of current setting.
+     * @param wordLength an int describing the word length.
+     * @return an {@code OpeningBook}, or null if it is not ready yet or there is no candidate.
+     */
+    public OpeningBook getOpeningBook(String wordSource, int wordLength) {
+        if (!isSourceReady(wordSource))
+            return null;
+        EligibleWords eligible = getEligibleWords(wordLength, wordSource, getMaxDifficulty(wordSource));
+        if (eligible == null || eligible.words.isEmpty())
+            return null;
+        String[] words = eligible.words.toArray();
+        if (eligible.contentHash == null)
+            eligible.contentHash = OpeningBook.contentHash(words);
+        String hash = eligible.contentHash;
+        OpeningBook book = openingBookByHash.get(hash);
+        if (book != null)
+            return book;
+        try {
+            book = OpeningBook.load(OpeningBook.pathOf(hash));
+            openingBookByHash.put(hash, book);
+            Metrics.counter("openingBook.loaded").increment();
+            return book;
+        } catch (IOException e) {
+            // Not computed yet for these candidates.
         }
+        if (openingBooksPending.add(hash))
+            OPENING_EXECUTOR.submit(() -> {
+                final long startNanos = System.nanoTime();
+                try {
+                    OpeningBook computed = OpeningBook.compute(words);
+                    openingBookByHash.put(hash, computed);
+                    computed.save(OpeningBook.pathOf(hash));
+                    Metrics.histogram("openingBook.computeTime").recordSince(startNanos);
+                } catch (IOException e) {
+                    System.err.println("Error desant el llibre d'obertures: " + e.getMessage());
+                } finally {
+                    openingBooksPending.remove(hash);
+                }
+            });
+        return null;
+    }
 
-        int total = 0;
-        for (int i = 1; i <= maxDifficulty; i++)
-            if (wordByDifficulty.containsKey(i))
-                total += wordByDifficulty.get(i).size();
-        if (total == 0) return "No trobat";
-        int randomIndex = new Random().nextInt(total);
-        for (int i = 1; i <= maxDifficulty; i++)
-            if (wordByDifficulty.containsKey(i)) {
-                int size = wordByDifficulty.get(i).size();
-                if (randomIndex < size)
-                    return wordByDifficulty.get(i).get(randomIndex);
-                randomIndex -= size;
+    /**
+     * This method records the outcome of a game for the given answer word, which recalibrates its difficulty in the
+     * given word source only, against the difficulty it has there, in the background, see
+     * {@link DifficultyCalibrator}.
+     *
+     * @param word       an uppercase String describing the answer word.
+     * @param wordSource a String representing the word source of the game.
+     * @param solved     a boolean describing whether the word was solved.
+     * @param tries      an int describing the row where the word was solved, counting from one.
+     * @param maxRows    an int describing the number of rows available.
+     * @param helped     a boolean describing whether the helper was used.
+     */
+    public void recordOutcome(String word, String wordSource, boolean solved, int tries, int maxRows,
+                              boolean helped) {
+        if (!isSourceReady(wordSource))
+            return;
+        HashMap<String, Integer> difficultyByWord = getIndexForSource(wordSource).get(word.length());
+        Integer difficulty = difficultyByWord == null ? null : difficultyByWord.get(word);
+        if (difficulty != null)
+            calibrator.record(wordSource, word, difficulty, solved, tries, maxRows, helped);
+    }
+
+    /**
+     * This method replaces the difficulty overlay, which applies to the following checks and draws at once.
+     *
+     * @param difficultyBySource a Map holding the difficulty by word source and then by word, which is never modified
+     *                           afterwards.
+     */
+    private void publishDifficultyOverlay(Map<String, Map<String, Integer>> difficultyBySource) {
+        difficultyOverlay = new DifficultyOverlay(difficultyBySource);
+        Metrics.gauge("difficultyOverlay.words", () -> {
+            long words = 0;
+            for (Map<String, Integer> difficultyByWord : difficultyOverlay.difficultyBySource.values())
+                words += difficultyByWord.size();
+            return words;
+        });
+    }
+
+    /**
+     * Returns the calibrator recording the outcome of every game.
+     *
+     * @return a {@code DifficultyCalibrator}.
+     */
+    public DifficultyCalibrator getCalibrator() {
+        return calibrator;
+    }
+
+    /**
+     * Returns the next index of the permutation cursor given, creating a new cursor if none is kept or the words it
+     * permutes have changed. The cursor is moved in memory only, see {@link Service#saveCursors()}.
+     *
+     * @param key         a String identifying the cursor by word source, word length and difficulty level.
+     * @param size        an int describing the number of words permuted.
+     * @param fingerprint a long describing the dictionary the cursor was created for.
+     * @return an int from 0 to {@code size - 1}.
+     */
+    private synchronized int nextCursorIndex(String key, int size, long fingerprint) {
+        Path cursorFile = eWordle.getDataDirectory().resolve(CURSOR_FILE);
+        if (cursors == null) {
+            cursors = new Properties();
+            try (BufferedReader reader = Files.newBufferedReader(cursorFile, StandardCharsets.UTF_8)) {
+                cursors.load(reader);
+            } catch (IOException e) {
+                // No cursor kept yet.
             }
-        return "No trobat";
+        }
+        // Each cursor is kept as "seed,position,size,fingerprint".
+        PermutationCursor cursor = null;
+        String[] state = cursors.getProperty(key, "").split(",");
+        try {
+            if (state.length == 4 && Integer.parseInt(state[2]) == size && Long.parseLong(state[3]) == fingerprint)
+                cursor = new PermutationCursor(size, Long.parseLong(state[0]), Integer.parseInt(state[1]));
+        } catch (NumberFormatException e) {
+            // A corrupted cursor is replaced by a new one.
+        }
+        if (cursor == null)
+            cursor = new PermutationCursor(size, new Random().nextLong(), 0);
+        int index = cursor.next();
+        cursors.setProperty(key, cursor.getSeed() + "," + cursor.getPosition() + "," + size + "," + fingerprint);
+        cursorsDirty = true;
+        return index;
+    }
+
+    /**
+     * This method writes the cursors moved since the last write on {@link Service#CURSOR_WRITER}, so that the draws of
+     * one game cost a single write off the calling thread.
+     */
+    private void saveCursors() {
+        synchronized (this) {
+            if (!cursorsDirty)
+                return;
+        }
+        CURSOR_WRITER.execute(() -> {
+            Properties snapshot;
+            synchronized (this) {
+                // An earlier write may have taken these cursors already.
+                if (!cursorsDirty)
+                    return;
+                snapshot = (Properties) cursors.clone();
+                cursorsDirty = false;
+            }
+            Path cursorFile = eWordle.getDataDirectory().resolve(CURSOR_FILE);
+            try {
+                Files.createDirectories(cursorFile.getParent());
+                // Write to a temporary file first, so that the cursors are never read half written.
+                Path temporary = cursorFile.resolveSibling(CURSOR_FILE + ".tmp");
+                try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                    snapshot.store(writer, "eWordle no-repeat cursors");
+                }
+                Files.move(temporary, cursorFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                System.err.println("Error desant els cursors: " + e.getMessage());
+            }
+        });
     }
 
     /**
      * This method returns the result of helper input checking and matched results. Word length and word source
      * configuration is attained directly from {@code Settings}.
      *
+     * <p>
+     * The input is compiled into a {@code HelperQuery} first, and the matched results are cached by word source, word
+     * length, normalized query, dictionary version and difficulty overlay, so that equivalent queries are answered
+     * without scanning. Only
+     * the {@link Service#HELPER_TOP_K} best results by {@link LetterFrequency} are listed, after the total count.
+     *
      * @param helperInput a String describing the input from the helper input text field.
      * @return a String containing error reason, which will be empty if no error found, and matched results. The error
      * reason and matched results are separated by "$".
      */
     public String validateHelperInput(String helperInput) {
-        // Initialize variables.
-        helperInput = helperInput.toUpperCase();
-        boolean isInsideRoundBracket = false;
-        boolean isInsideSquareBracket = false;
-        boolean isContainedRoundBracket = false;
-        HashMap<Character, Integer> mustExistCount = new HashMap<>();
-        HashSet<Character> mustNotExist = new HashSet<>();
-        boolean eligibilityMatchAll = false;
-        StringBuilder patternString = new StringBuilder();
-        // Scan and check the input string.
-        for (int i = 0; i < helperInput.length(); i++) {
-            char ch = helperInput.charAt(i);
-            if (ch == '(') {
-                isContainedRoundBracket = true;
-                if (isInsideRoundBracket || isInsideSquareBracket)
-                    return "Claudàtors niuats no suportats$";
-                else
-                    isInsideRoundBracket = true;
-            } else if (ch == ')') {
-                if (isInsideRoundBracket)
-                    isInsideRoundBracket = false;
-                else
-                    return "Claudàtor sense parella$";
-            } else if (ch == '[') {
-                if (isInsideSquareBracket || isInsideRoundBracket)
-                    return "Claudàtors niuats no suportats$";
-                else
-                    isInsideSquareBracket = true;
-            } else if (ch == ']') {
-                if (isInsideSquareBracket)
-                    isInsideSquareBracket = false;
-                else
-                    return "Claudàtor sense parella$";
-            } else if (Character.isAlphabetic(ch)) {
-                if (isInsideRoundBracket)
-                    mustExistCount.put(ch, mustExistCount.getOrDefault(ch, 0) + 1);
-                else if (isInsideSquareBracket)
-                    mustNotExist.add(ch);
-                else
-                    patternString.append(ch);
-            } else if (ch == '*') {
-                if (isInsideRoundBracket)
-                    eligibilityMatchAll = true;
-                else if (isInsideSquareBracket)
-                    return "* dins de [] no permès$";
-                else
-                    patternString.append(ch);
-            } else
-                return "Entrada no vàlida$";
+        return validateHelperInput(helperInput, Settings.getWordSource(), Settings.getInitWord().length(),
+                () -> false);
+    }
+
+    /**
+     * This method returns the result of helper input checking and matched results, without partial results.
+     *
+     * @param helperInput  a String describing the input from the helper input text field.
+     * @param wordSource   a String representing the word source to be searched.
+     * @param wordLength   an int describing the length of the word to be guessed.
+     * @param isCancelled  a {@code BooleanSupplier} polled during the scan.
+     * @return a String in the same format of {@link Service#validateHelperInput(String)}, or null if cancelled.
+     */
+    public String validateHelperInput(String helperInput, String wordSource, int wordLength,
+                                      BooleanSupplier isCancelled) {
+        return validateHelperInput(helperInput, wordSource, wordLength, isCancelled, partial -> {
+        });
+    }
+
+    /**
+     * This method returns the result of helper input checking and matched results.
+     *
+     * <p>
+     * This method may be called from a background thread. If <var>isCancelled</var> becomes true during the scan, the
+     * scan stops as soon as possible and nothing will be cached. While the scan goes on, the best results matched so
+     * far are passed to <var>onProgress</var> on the calling thread at most once every
+     * {@link Service#HELPER_PROGRESS_INTERVAL}, so that a long scan can be shown as it goes.
+     *
+     * @param helperInput  a String describing the input from the helper input text field.
+     * @param wordSource   a String representing the word source to be searched.
+     * @param wordLength   an int describing the length of the word to be guessed.
+     * @param isCancelled  a {@code BooleanSupplier} polled during the scan.
+     * @param onProgress   a {@code Consumer} receiving partial results in the same format of
+     *                     {@link Service#validateHelperInput(String)}.
+     * @return a String in the same format of {@link Service#validateHelperInput(String)}, or null if cancelled.
+     */
+    public String validateHelperInput(String helperInput, String wordSource, int wordLength,
+                                      BooleanSupplier isCancelled, Consumer<String> onProgress) {
+        final long startNanos = System.nanoTime();
+        GameEvents.HelperSearch event = new GameEvents.HelperSearch();
+        event.begin();
+        HelperQuery query = HelperQuery.compile(helperInput, wordLength);
+        if (query.getError().length() > 0) {
+            commitHelperSearch(event, helperInput, wordSource, -1, false);
+            return query.getError() + "$";
+        }
+        DifficultyOverlay overlay = difficultyOverlay;
+        String cacheKey = wordSource + "$" + wordLength + "$" + query.getNormalized() + "$" + dictionaryVersion + "$" +
+                overlay.hashOf(wordSource);
+        String cached = helperCache.get(cacheKey);
+        if (cached != null) {
+            Metrics.histogram("validateHelperInput.latency").recordSince(startNanos);
+            commitHelperSearch(event, helperInput, wordSource, countResults(cached), true);
+            return cached;
         }
-        final int initWordLength = Settings.getInitWord().length();
-        if (patternString.length() != initWordLength)
-            return "Longitud massa " + (patternString.length() < initWordLength ? "curta" : "llarga") + "$";
-        if (isInsideRoundBracket || isInsideSquareBracket)
-            return "Claudàtor sense parella$";
-        // Scan the database to filter out valid candidate words.
-        if (!isContainedRoundBracket)
-            eligibilityMatchAll = true;
-
-        HashMap<Integer, HashMap<Integer, ArrayList<String>>> wordsMap = getWordsForSource(Settings.getWordSource());
+        String result;
+        try {
+            result = searchHelperQuery(query, wordSource, wordLength, overlay.of(wordSource), isCancelled,
+                    onProgress);
+        } catch (CancellationException e) {
+            return null;
+        }
+        helperCache.put(cacheKey, result);
+        Metrics.histogram("validateHelperInput.latency").recordSince(startNanos);
+        commitHelperSearch(event, helperInput, wordSource, countResults(result), false);
+        return result;
+    }
+
+    /**
+     * This static method commits a helper search event if it is enabled in the running recording.
+     *
+     * @param event       a {@code GameEvents.HelperSearch} that has begun.
+     * @param helperInput a String describing the input from the helper input text field.
+     * @param wordSource  a String representing the word source searched.
+     * @param resultCount an int describing the number of matched words, or -1 if the input is invalid.
+     * @param cached      a boolean describing whether the result comes from the cache.
+     */
+    private static void commitHelperSearch(GameEvents.HelperSearch event, String helperInput, String wordSource,
+                                           int resultCount, boolean cached) {
+        if (!event.shouldCommit())
+            return;
+        event.pattern = helperInput;
+        event.source = wordSource;
+        event.resultCount = resultCount;
+        event.cached = cached;
+        event.commit();
+    }
+
+    /**
+     * This static method returns the number of words matched of the helper result given, which is the first number
+     * of its summary line.
+     *
+     * @param result a String in the format of {@link Service#validateHelperInput(String)}.
+     * @return an int describing the number of words matched, including the words not listed.
+     */
+    private static int countResults(String result) {
+        int count = 0;
+        int i = result.indexOf('$') + 1;
+        while (i < result.length() && !Character.isDigit(result.charAt(i)))
+            i++;
+        while (i < result.length() && Character.isDigit(result.charAt(i)))
+            count = count * 10 + (result.charAt(i++) - '0');
+        return count;
+    }
+
+    /**
+     * This method scans the database to filter out valid candidate words of a compiled helper query, whose
+     * difficulty after the overlay given is allowed in the word source.
+     *
+     * @param query         a valid {@code HelperQuery}.
+     * @param wordSource    a String representing the word source to be searched.
+     * @param wordLength    an int describing the length of the words to be searched.
+     * @param sourceOverlay a Map holding the difficulty by word recalibrated in <var>wordSource</var>.
+     * @param isCancelled   a {@code BooleanSupplier} polled during the scan.
+     * @param onProgress    a {@code Consumer} receiving the partial results, see
+     *                      {@link Service#validateHelperInput(String, String, int, BooleanSupplier, Consumer)}.
+     * @return a String containing an empty error reason and matched results, separated by "$".
+     * @throws CancellationException if <var>isCancelled</var> becomes true during the scan.
+     */
+    private String searchHelperQuery(HelperQuery query, String wordSource, int wordLength,
+                                     Map<String, Integer> sourceOverlay, BooleanSupplier isCancelled,
+                                     Consumer<String> onProgress) {
+        HashMap<Integer, HashMap<Integer, WordList>> wordsMap = getWordsForSource(wordSource);
         if (wordsMap == null)
             return "$" + ("S'han trobat 0 resultat(s).") + "\n";
-        HashMap<Integer, ArrayList<String>> wordByDifficulty = wordsMap.get(initWordLength);
+        HashMap<Integer, WordList> wordByDifficulty = wordsMap.get(wordLength);
         if (wordByDifficulty == null)
             return "$" + ("S'han trobat 0 resultat(s).") + "\n";
 
         // For thematic sources, use all difficulty levels.
         int difficultyLevel;
-        if (thematicWords.containsKey(Settings.getWordSource()) || "Català".equals(Settings.getWordSource())) {
+        if (thematicWords.containsKey(wordSource) || "Català".equals(wordSource)) {
             difficultyLevel = 3;
         } else {
-            difficultyLevel = difficultyByWordSource.get(Settings.getWordSource());
+            difficultyLevel = difficultyByWordSource.get(wordSource);
         }
 
-        StringBuilder results = new StringBuilder();
-        int candidateCount = 0;
-        for (int currentDifficulty = 1; currentDifficulty <= difficultyLevel; currentDifficulty++) {
-            ArrayList<String> currentWordList = wordByDifficulty.get(currentDifficulty);
-            if (currentWordList == null) continue;
-            for (String word : currentWordList) {
-                boolean ok = true;
-                HashMap<Character, Integer> existCount = new HashMap<>();
-                for (int i = 0; i < initWordLength; i++) {
-                    char ch = word.charAt(i);
-                    if (ch != patternString.charAt(i)) {
-                        if (patternString.charAt(i) != '*') {
-                            ok = false;
-                            break;
-                        }
-                        else if (mustNotExist.contains(ch)) {
-                            ok = false; //
-                            break;
-                        } else if (existCount.getOrDefault(ch, 0) <
-                                mustExistCount.getOrDefault(ch, 0)) {
-                            existCount.put(ch, existCount.getOrDefault(ch, 0) + 1);
-                        } else if (!eligibilityMatchAll) {
-                            ok = false;
-                            break;
-                        }
-                    }
-                }
-                // Check must exist characters validity.
-                for (Map.Entry<Character, Integer> pair : mustExistCount.entrySet()) {
-                    if (existCount.getOrDefault(pair.getKey(), 0) < pair.getValue()) {
-                        ok = false;
-                        break;
-                    }
-                }
-                if (ok) {
-                    ++candidateCount;
-                    results.append(word).append("\n");
-                }
+        // Matched words only pass through a bounded heap, so the full result list is never built nor sorted.
+        TopWords topWords = new TopWords(frequencyBySource.get(wordSource).get(wordLength), HELPER_TOP_K);
+        long[] lastProgressNanos = {System.nanoTime()};
+        Consumer<String> matchedSink = word -> {
+            topWords.accept(word);
+            if (System.nanoTime() - lastProgressNanos[0] >= HELPER_PROGRESS_INTERVAL) {
+                onProgress.accept(formatHelperResult(topWords, false));
+                lastProgressNanos[0] = System.nanoTime();
             }
+        };
+        Dawg dawg = getDawg(wordSource, wordLength);
+        if (dawg != null && sourceOverlay.isEmpty()) {
+            // Traverse the DAWG with pruning instead of scanning the whole bucket.
+            dawg.match(query, difficultyLevel, matchedSink, isCancelled);
+        } else if (dawg != null) {
+            // Recalibrated words may move across the difficulty level, so every difficulty is matched and filtered.
+            dawg.match(query, Integer.MAX_VALUE, word -> {
+                Integer recalibrated = sourceOverlay.get(word);
+                if ((recalibrated != null ? recalibrated : dawg.difficultyOf(word)) <= difficultyLevel)
+                    matchedSink.accept(word);
+            }, isCancelled);
+        } else {
+            int scanned = 0;
+            for (Integer currentDifficulty : new TreeSet<>(wordByDifficulty.keySet()))
+                for (String word : wordByDifficulty.get(currentDifficulty)) {
+                    if (++scanned % HELPER_BATCH_SIZE == 0 && isCancelled.getAsBoolean())
+                        throw new CancellationException();
+                    if (sourceOverlay.getOrDefault(word, currentDifficulty) <= difficultyLevel && query.matches(word))
+                        matchedSink.accept(word);
+                }
         }
-        return "$" + ("S'han trobat " + candidateCount + " resultat(s)" + (candidateCount > 0 ? ":" : ".")) + "\n" + results;
+        Metrics.histogram("validateHelperInput.results").record(topWords.getTotal());
+        return formatHelperResult(topWords, true);
+    }
+
+    /**
+     * This static method returns the helper result of the words matched given.
+     *
+     * @param topWords a {@code TopWords} holding the words matched.
+     * @param complete a boolean describing whether the scan has finished, or the result is partial otherwise.
+     * @return a String in the format of {@link Service#validateHelperInput(String)}.
+     */
+    private static String formatHelperResult(TopWords topWords, boolean complete) {
+        int candidateCount = topWords.getTotal();
+        StringBuilder results = new StringBuilder();
+        for (String word : topWords.getBest())
+            results.append(word).append("\n");
+        return "$" + (complete ? "S'han trobat " : "Cercant... ") + candidateCount + " resultat(s)" +
+                (complete ? "" : " fins ara") + (candidateCount > HELPER_TOP_K ? ", els " + HELPER_TOP_K +
+                " millors:" : candidateCount > 0 ? ":" : ".") + "\n" + results;
+    }
+
+    /**
+     * Returns the helper result cache, whose hit rate describes how often equivalent queries are repeated.
+     *
+     * @return a {@code LruCache} holding helper results by word source, word length, normalized query, dictionary
+     * version and difficulty overlay.
+     */
+    public LruCache<String, String> getHelperCache() {
+        return helperCache;
+    }
+
+    /**
+     * Returns the fingerprint of the dictionary of the given word source, which is a CRC-32 of every word and its
+     * difficulty in alphabetical order together with the difficulty level of the word source. Two games played with
+     * the same fingerprint accept and score exactly the same words.
+     *
+     * @param wordSource a String representing the word source.
+     * @return a long describing the fingerprint, or 0 if the word source is not ready.
+     */
+    public long getDictionaryFingerprint(String wordSource) {
+        if (!isSourceReady(wordSource))
+            return 0;
+        return fingerprintBySource.computeIfAbsent(wordSource, source -> {
+            CRC32 crc = new CRC32();
+            crc.update(String.valueOf(difficultyByWordSource.get(source)).getBytes(StandardCharsets.UTF_8));
+            HashMap<Integer, HashMap<String, Integer>> index = getIndexForSource(source);
+            for (Integer length : new TreeSet<>(index.keySet()))
+                for (Map.Entry<String, Integer> entry : new TreeMap<>(index.get(length)).entrySet())
+                    crc.update(('\n' + entry.getKey() + ',' + entry.getValue()).getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        });
+    }
+
+    /**
+     * Returns the fingerprint of the games of the given word source and length, which is the fingerprint of its
+     * dictionary combined with the words the difficulty overlay excludes or includes, so that a game recorded before
+     * a recalibration is told apart from a game that no longer replays the same.
+     *
+     * @param wordSource a String representing the word source.
+     * @param wordLength an int describing the word length.
+     * @return a long describing the fingerprint, or 0 if the word source is not ready.
+     */
+    public long getGameFingerprint(String wordSource, int wordLength) {
+        if (!isSourceReady(wordSource))
+            return 0;
+        EligibleWords eligible = getEligibleWords(wordLength, wordSource, getMaxDifficulty(wordSource));
+        return getDictionaryFingerprint(wordSource) ^ (eligible == null ? 0 : eligible.overlayHash);
     }
-}
\ No newline at end of file
+}
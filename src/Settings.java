@@ -22,7 +22,11 @@
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
+import java.awt.image.BufferedImage;
+import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.function.Consumer;
+import javax.imageio.ImageIO;
 import javax.swing.*;
 
 /**
@@ -89,6 +93,11 @@ public class Settings {
      */
     private static JTextField errorMessageField;
 
+    /**
+     * A static {@code JButton} holding the instance of the button that starts the game.
+     */
+    private static JButton startButton;
+
     /**
      * A static int holding the word length selected by the user.
      */
@@ -109,6 +118,68 @@ public class Settings {
      */
     private static String[] wordSourceOptions;
 
+    /**
+     * A static boolean holding the status that whether random words are drawn without repetition.
+     */
+    private static boolean noRepeat;
+
+    /**
+     * A static boolean holding the status that whether every guess must reuse the letters revealed.
+     */
+    private static boolean hardMode;
+
+    /**
+     * A static boolean holding the status that whether games are timed, see {@link Settings#isSpeedrun()}.
+     */
+    private static boolean speedrun;
+
+    /**
+     * A static boolean holding the mode of the current game, which may come from a hashtag.
+     */
+    private static boolean currentHardMode;
+
+    /**
+     * A static int holding the number of boards selected, each with its own word to be guessed.
+     */
+    private static int boardCount = 1;
+
+    /**
+     * A static String array holding the words to be guessed of the current game, one for each board.
+     */
+    private static String[] currentInitWords;
+
+    /**
+     * A static boolean holding the status that whether the game never commits to an answer.
+     */
+    private static boolean absurdle;
+
+    /**
+     * A static constant holding the game mode option of absurd games.
+     */
+    private static final String ABSURDLE_OPTION = "Absurd";
+
+    /**
+     * A static constant String array holding the game modes available, which are the numbers of boards and the
+     * absurd mode.
+     */
+    private static final String[] GAME_MODE_OPTIONS = new String[]{"1 tauler", "2 taulers", "4 taulers", "8 taulers",
+            ABSURDLE_OPTION};
+
+    /**
+     * A static constant added to the word length digit of the hashtag of games in hard mode.
+     */
+    private static final int HASHTAG_HARD_MODE = 10;
+
+    /**
+     * A static constant added to the word length digit of the hashtag of games with several boards.
+     */
+    private static final int HASHTAG_MULTI_BOARD = 20;
+
+    /**
+     * A static constant holding the maximum length of a hashtag, which fits eight boards of the longest words.
+     */
+    private static final int HASHTAG_MAX_LENGTH = 80;
+
     /**
      * A static String holding current hashtag.
      */
@@ -185,8 +256,14 @@ public class Settings {
                 String selectedItem = (String) event.getItem();
                 if (selectedItem.startsWith("Longitud: ")) {
                     Settings.wordLength = Integer.parseInt(selectedItem.substring(10));
+                } else if (selectedItem.startsWith("Mode: ")) {
+                    Settings.absurdle = selectedItem.endsWith(ABSURDLE_OPTION);
+                    Settings.boardCount = absurdle ? 1 : Integer.parseInt(selectedItem.substring(6).split(" ")[0]);
                 } else if (selectedItem.startsWith("Font: ")) {
                     Settings.wordSource = selectedItem.substring(6);
+                    // Load the selected word source next if it is not ready yet.
+                    Service.getInstance().prioritizeSource(Settings.wordSource);
+                    refreshStartButton();
                 }
             }
         };
@@ -244,25 +321,42 @@ public class Settings {
         windowPanel.add(hintLabel);
         currentY += labelHeight + fieldGap;
 
-        // Add logo image below hint
-        try {
-            String imagePath = "juego2\\javadoc\\script-dir\\images\\logo Cide.jpg";
-            java.io.File imageFile = new java.io.File(imagePath);
-            if (imageFile.exists()) {
-                ImageIcon logoIcon = new ImageIcon(imagePath);
-                Image logoImage = logoIcon.getImage();
-                Image scaledImage = logoImage.getScaledInstance(200, 130, Image.SCALE_SMOOTH);
-                JLabel logoLabel = new JLabel(new ImageIcon(scaledImage));
-                logoLabel.setBounds(WIDTH_MARGIN + 150, currentY, 200, 175);
-                windowPanel.add(logoLabel);
-                currentY += 130 + fieldGap;
-            } else {
-                System.out.println("Archivo no encontrado: " + imageFile.getAbsolutePath());
-            }
-        } catch (Exception e) {
-            System.err.println("Error cargando la imagen: " + e.getMessage());
-            e.printStackTrace();
-        }
+        // -- Game options --
+        JCheckBox noRepeatBox = initCheckBox("Sense repeticions", WIDTH_MARGIN, currentY,
+                170, labelHeight, noRepeat, selected -> noRepeat = selected);
+        noRepeatBox.setToolTipText("Les paraules aleatòries no es repeteixen fins que s'han jugat totes");
+        windowPanel.add(noRepeatBox);
+        JCheckBox hardModeBox = initCheckBox("Mode difícil", WIDTH_MARGIN + 170, currentY,
+                140, labelHeight, hardMode, selected -> hardMode = selected);
+        hardModeBox.setToolTipText("Cada intent ha de reutilitzar les lletres verdes al seu lloc i totes les grogues");
+        windowPanel.add(hardModeBox);
+        JComboBox<String> gameModeCombo = initCombo("Mode: ", GAME_MODE_OPTIONS, currentY, comboEventConsumer,
+                "Nombre de paraules a endevinar alhora, o mode absurd on la paraula canvia per evitar-te " +
+                        "(el mode difícil només s'aplica a un tauler)",
+                absurdle ? ABSURDLE_OPTION : boardCount + (boardCount == 1 ? " tauler" : " taulers"));
+        gameModeCombo.setBounds(WIDTH_MARGIN + 310, currentY - 3, CONTENT_WIDTH - 310, comboHeight);
+        windowPanel.add(gameModeCombo);
+        currentY += labelHeight + fieldGap;
+        JCheckBox speedrunBox = initCheckBox("Contrarellotge", WIDTH_MARGIN, currentY,
+                170, labelHeight, speedrun, selected -> speedrun = selected);
+        speedrunBox.setToolTipText("Cronometra la partida des de la primera tecla i mostra la latència del teclat");
+        windowPanel.add(speedrunBox);
+        currentY += labelHeight + fieldGap;
+
+        // Add logo image below hint, which is decoded and scaled in the background.
+        final int logoY = currentY;
+        Thread logoLoader = new Thread(() -> {
+            ImageIcon logoIcon = loadLogo();
+            if (logoIcon != null)
+                SwingUtilities.invokeLater(() -> {
+                    JLabel logoLabel = new JLabel(logoIcon);
+                    logoLabel.setBounds(WIDTH_MARGIN + 150, logoY, 200, 130);
+                    windowPanel.add(logoLabel);
+                    windowPanel.repaint();
+                });
+        }, "eWordle-logo");
+        logoLoader.setDaemon(true);
+        logoLoader.start();
 
         // ---- BOTTOM SECTION (error message + buttons) ----
         int bottomY = WINDOW_HEIGHT - BREAK_HEIGHT * 2 - CONTENT_HEIGHT;
@@ -286,14 +380,74 @@ public class Settings {
         instructionsButton.setForeground(Color.WHITE);
         windowPanel.add(instructionsButton);
 
-        // Start button (right, larger)
-        JButton startButton = initButton("Iniciar Joc",
+        // Start button (right, larger), which stays disabled until the selected word source is loaded.
+        startButton = initButton("Iniciar Joc",
                 WIDTH_MARGIN + CONTENT_WIDTH / 3 + 10, bottomY,
                 CONTENT_WIDTH * 2 / 3 - 10, btnHeight, 24,
                 event -> start());
         startButton.setBackground(new Color(25, 100, 25));
         startButton.setForeground(Color.WHITE);
         windowPanel.add(startButton);
+        refreshStartButton();
+    }
+
+    /**
+     * This static method returns the logo decoded and scaled to its display size, and should be called off the event
+     * dispatch thread.
+     *
+     * @return an {@code ImageIcon} holding the scaled logo, or null if the logo is not found.
+     */
+    private static ImageIcon loadLogo() {
+        try {
+            String imagePath = "juego2\\javadoc\\script-dir\\images\\logo Cide.jpg";
+            java.io.File imageFile = new java.io.File(imagePath);
+            if (!imageFile.exists()) {
+                System.out.println("Archivo no encontrado: " + imageFile.getAbsolutePath());
+                return null;
+            }
+            BufferedImage logoImage = ImageIO.read(imageFile);
+            if (logoImage == null)
+                return null;
+            // Scale eagerly, as getScaledInstance would defer the work to the first paint.
+            BufferedImage scaledImage = new BufferedImage(200, 130, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaledImage.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.drawImage(logoImage, 0, 0, 200, 130, null);
+            graphics.dispose();
+            return new ImageIcon(scaledImage);
+        } catch (Exception e) {
+            System.err.println("Error cargando la imagen: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * This method is called once a word source has been loaded by {@code Service}, and may be called from any thread.
+     *
+     * @param loadedSource a String representing the word source loaded.
+     * @param loadResult   a String describing the loading result, which will be empty if successfully loaded.
+     */
+    public void sourceLoaded(String loadedSource, String loadResult) {
+        if (loadResult.length() > 0)
+            System.out.println("Error durant la inicialització:" + loadResult);
+        SwingUtilities.invokeLater(() -> {
+            if (loadResult.length() > 0 && loadedSource.equals(wordSource))
+                errorMessageField.setText("Error durant la inicialització: " + loadResult);
+            refreshStartButton();
+        });
+    }
+
+    /**
+     * This static method enables the start button if the selected word source is ready, showing a loading indicator
+     * otherwise.
+     */
+    private static void refreshStartButton() {
+        if (startButton == null)
+            return;
+        boolean isReady = Service.getInstance().isSourceReady(wordSource);
+        startButton.setEnabled(isReady);
+        startButton.setText(isReady ? "Iniciar Joc" : "Carregant...");
     }
 
     /**
@@ -330,6 +484,15 @@ public class Settings {
         return Settings.initWord;
     }
 
+    /**
+     * Returns the words to be guessed of the current game, one for each board.
+     *
+     * @return a String array holding the words to be guessed.
+     */
+    public static String[] getCurrentInitWords() {
+        return Settings.currentInitWords.clone();
+    }
+
     /**
      * Returns current hashtag.
      *
@@ -339,6 +502,24 @@ public class Settings {
         return Settings.currentHashtag;
     }
 
+    /**
+     * Returns the mode of the current game.
+     *
+     * @return true if the current game is in hard mode.
+     */
+    public static boolean isCurrentHardMode() {
+        return Settings.currentHardMode;
+    }
+
+    /**
+     * Returns whether games are timed, where the solve time and the input latency are shown with the results.
+     *
+     * @return true if speedrun mode is selected.
+     */
+    public static boolean isSpeedrun() {
+        return Settings.speedrun;
+    }
+
     /**
      * This method sets the window to the center and makes it change its visible
      * status
@@ -408,6 +589,31 @@ public class Settings {
         return button;
     }
 
+    /**
+     * This static method returns a configured check box matching the style of the setting window.
+     *
+     * @param content  a String holding the label of the check box.
+     * @param x        an int describing the new horizontal or {@code x}-coordinate of the check box.
+     * @param y        an int describing the new vertical or {@code y}-coordinate of the check box.
+     * @param xSize    an int describing the width of the check box.
+     * @param ySize    an int describing the height of the check box.
+     * @param selected a boolean describing the initial status of the check box.
+     * @param consumer a {@code Consumer<Boolean>} receiving the status after each change.
+     * @return a configured {@code JCheckBox}.
+     */
+    private static JCheckBox initCheckBox(String content, int x, int y, int xSize, int ySize, boolean selected,
+                                          Consumer<Boolean> consumer) {
+        JCheckBox checkBox = new JCheckBox(content, selected);
+        checkBox.setBounds(x, y, xSize, ySize);
+        checkBox.setFont(new Font("", Font.PLAIN, 15));
+        checkBox.setForeground(Color.WHITE);
+        checkBox.setOpaque(false);
+        checkBox.setFocusable(false);
+        checkBox.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        checkBox.addItemListener(event -> consumer.accept(checkBox.isSelected()));
+        return checkBox;
+    }
+
     /**
      * This method returns a configured combo to the window.
      *
@@ -456,25 +662,54 @@ public class Settings {
             }
             errorMessageField.setText("");
             this.setVisibleStatus(false);
-            Settings.initWord = decodeResult[1];
+            currentInitWords = decodeResult[1].split(",");
+            Settings.initWord = currentInitWords[0];
             currentHashtag = text;
+            currentHardMode = Boolean.parseBoolean(decodeResult[3]);
             Game.createInstance().playGame(Settings.wordSourceOptions[Integer.parseInt(decodeResult[2]) - 1],
-                    decodeResult[1], currentHashtag);
+                    currentInitWords, currentHashtag, currentHardMode);
+        }
+        // Absurd game, where the word typed is ignored.
+        else if (absurdle) {
+            if (Service.getInstance().getCandidateWords(wordLength, wordSource).length == 0) {
+                errorMessageField.setText("No trobat");
+                return;
+            }
+            errorMessageField.setText("");
+            this.setVisibleStatus(false);
+            Settings.initWord = GameRound.absurdleWord(wordLength);
+            currentInitWords = new String[]{Settings.initWord};
+            currentHashtag = Settings.hashtagEncoder(wordSource, currentInitWords, false);
+            currentHardMode = false;
+            Game.createInstance().playGame(wordSource, currentInitWords, currentHashtag, false);
         }
         // Not hashtag
         else if (text.length() == wordLength || text.length() == 0) {
             String checkResult = Service.getInstance().checkExistence(text, wordSource);
             if (checkResult.length() == 0) {
-                if (text.length() == 0) {
-                    text = Service.getInstance().generateRandomWord(wordLength, wordSource);
+                String[] words = new String[]{text};
+                if (boardCount > 1) {
+                    // The word typed, if any, is guessed on the first board and the others are drawn randomly.
+                    words = Service.getInstance().generateRandomWords(boardCount, wordLength, wordSource, noRepeat);
+                    if (text.length() != 0 && !words[0].equals("No trobat")) {
+                        int typed = Arrays.asList(words).indexOf(text);
+                        words[typed < 0 ? 0 : typed] = words[0];
+                        words[0] = text;
+                    }
+                    text = words[0];
+                } else if (text.length() == 0) {
+                    text = Service.getInstance().generateRandomWord(wordLength, wordSource, noRepeat);
                     initWordField.setText(text);
+                    words[0] = text;
                 }
                 if (!text.equals("No trobat")) {
                     errorMessageField.setText("");
                     this.setVisibleStatus(false);
                     Settings.initWord = text;
-                    currentHashtag = Settings.hashtagEncoder(wordSource, text);
-                    Game.createInstance().playGame(wordSource, text, currentHashtag);
+                    currentInitWords = words;
+                    currentHashtag = Settings.hashtagEncoder(wordSource, words, hardMode);
+                    currentHardMode = hardMode;
+                    Game.createInstance().playGame(wordSource, words, currentHashtag, currentHardMode);
                 } else
                     errorMessageField.setText(text);
             } else
@@ -484,6 +719,16 @@ public class Settings {
                     (text.length() < wordLength ? "curta" : "llarga") + "!");
     }
 
+    /**
+     * This static method sets the word sources available without creating the setting window, so that hashtags can be
+     * encoded and decoded by headless tools.
+     *
+     * @param wordSourceOptions a String array containing the word sources ordered by difficulty increasingly.
+     */
+    static void setWordSourceOptions(String[] wordSourceOptions) {
+        Settings.wordSourceOptions = wordSourceOptions;
+    }
+
     /**
      * This static method encodes current settings and return the hashtag.
      *
@@ -512,37 +757,66 @@ public class Settings {
      * example, the sample shown above
      * will become #179FMGP.
      *
+     * <p>
+     * Games in hard mode add 10 to the lowest digit, so that hashtags of normal games are unchanged.
+     *
      * @param hashtagWordSource a String describing the word source selected.
      * @param hashtagWord       a String describing the Wordle word selected.
      * @return a String describing the decoded hashtag result.
      */
     static String hashtagEncoder(String hashtagWordSource, String hashtagWord) {
-        // System.out.println("Encoding:"+hashtagWordSource+" "+hashtagWord);
-        final long hashtagLetterCount = 26 + 10;
-        final long radix = 29;
-        long integer = 0;
-        for (int i = hashtagWord.length() - 1; i >= 0; i--) {
-            integer *= radix;
-            integer += hashtagWord.charAt(i) - 'A';
-        }
+        return hashtagEncoder(hashtagWordSource, hashtagWord, false);
+    }
+
+    /**
+     * This static method encodes current settings and return the hashtag, as described in
+     * {@link Settings#hashtagEncoder(String, String)}.
+     *
+     * @param hashtagWordSource a String describing the word source selected.
+     * @param hashtagWord       a String describing the Wordle word selected.
+     * @param hardMode          a boolean describing whether the game is in hard mode.
+     * @return a String describing the decoded hashtag result.
+     */
+    static String hashtagEncoder(String hashtagWordSource, String hashtagWord, boolean hardMode) {
+        return hashtagEncoder(hashtagWordSource, new String[]{hashtagWord}, hardMode);
+    }
+
+    /**
+     * This static method encodes current settings and return the hashtag, as described in
+     * {@link Settings#hashtagEncoder(String, String)}.
+     *
+     * <p>
+     * Games with several boards add 20 to the lowest digit instead, followed by the word source, the number of boards,
+     * and then the words of all the boards in order. Absurd games are kept as a single board without any word. The
+     * integer is kept as a {@code BigInteger}, since eight words do not fit in a {@code long}.
+     *
+     * @param hashtagWordSource a String describing the word source selected.
+     * @param hashtagWords      a String array describing the Wordle words of each board, all of the same length.
+     * @param hardMode          a boolean describing whether the game is in hard mode, which is ignored if there are
+     *                          several boards.
+     * @return a String describing the decoded hashtag result.
+     */
+    static String hashtagEncoder(String hashtagWordSource, String[] hashtagWords, boolean hardMode) {
+        final BigInteger radix = BigInteger.valueOf(29);
+        final int wordLength = hashtagWords[0].length();
+        final boolean multiBoard = hashtagWords.length > 1 || GameRound.isAbsurdle(hashtagWords[0]);
+        BigInteger integer = BigInteger.ZERO;
+        if (!GameRound.isAbsurdle(hashtagWords[0]))
+            for (int word = hashtagWords.length - 1; word >= 0; word--)
+                for (int i = wordLength - 1; i >= 0; i--)
+                    integer = integer.multiply(radix).add(BigInteger.valueOf(hashtagWords[word].charAt(i) - 'A'));
+        if (multiBoard)
+            integer = integer.multiply(radix).add(BigInteger.valueOf(hashtagWords.length));
         for (int i = 0; i < Settings.wordSourceOptions.length; i++)
             // Found word source in wordSourceOptions with index to be later decoded.
             if (Settings.wordSourceOptions[i].equals(hashtagWordSource)) {
                 // Encode hashtag word source, which counts from 1.
-                integer *= radix;
-                integer += i + 1;
-                // Encode hashtag word length.
-                integer *= radix;
-                integer += hashtagWord.length();
+                integer = integer.multiply(radix).add(BigInteger.valueOf(i + 1));
+                // Encode hashtag word length and mode.
+                int mode = multiBoard ? HASHTAG_MULTI_BOARD : hardMode ? HASHTAG_HARD_MODE : 0;
+                integer = integer.multiply(radix).add(BigInteger.valueOf(wordLength + mode));
                 // Convert integer to base-36 hashtag representation.
-                StringBuilder reverseHashtag = new StringBuilder();
-                do {
-                    int currentDigit = (int) (integer % hashtagLetterCount);
-                    reverseHashtag.append(currentDigit < 10 ? (char) (currentDigit + (int) '0')
-                            : (char) (currentDigit - 10 + (int) 'A'));
-                    integer /= hashtagLetterCount;
-                } while (integer > 0);
-                return "#" + reverseHashtag.reverse();
+                return "#" + integer.toString(26 + 10).toUpperCase();
             }
         return "Error de hashtag: no s'ha trobat la paraula font";
     }
@@ -550,64 +824,84 @@ public class Settings {
     /**
      * This static method decodes hashtag and return the results.
      *
-     * @param hashtag a String describing the hint to add before each content,
-     *                maximum length (excluded '#') 12
-     *                supported using current decoder base on {@code long} (possible
-     *                longer support under using
-     *                BigInteger but not necessary ).
+     * @param hashtag a String describing the hint to add before each content, with a maximum length of
+     *                {@link Settings#HASHTAG_MAX_LENGTH}.
      * @return a String describing the results, whose format is
-     *         "errorMessage$word$difficulty", typed
-     *         "String$String$int", where the latter two will be not null when
+     *         "errorMessage$word$difficulty$hardMode", typed
+     *         "String$String$int$boolean", where the latter three will be not null when
      *         {@code errorMessage} is empty, representing
      *         successfully decoded.
-     *         Note: difficulty counts from 1 to total word sources available.
+     *         Note: difficulty counts from 1 to total word sources available, the words of a game with several
+     *         boards are separated by commas, and the word of an absurd game is {@link GameRound#absurdleWord(int)}.
      *         Sample: error: "Invalid hashtag input$$", successfully decoded:
-     *         "$apple$1".
+     *         "$apple$1$false" or "$apple,lemon$1$false".
      */
-    static private String hashtagDecoder(String hashtag) {
-        final long hashtagLetterCount = 26 + 10;
-        final long radix = 29;
-        long encoded = 0;
-        if (hashtag.length() > 13)
+    static String hashtagDecoder(String hashtag) {
+        final BigInteger hashtagLetterCount = BigInteger.valueOf(26 + 10);
+        final BigInteger radix = BigInteger.valueOf(29);
+        BigInteger encoded = BigInteger.ZERO;
+        if (hashtag.length() > HASHTAG_MAX_LENGTH)
             return "Invalid hashtag input: length too large$$";
-        // Decode raw base-hashtagLetterCount String to long.
+        // Decode raw base-hashtagLetterCount String to integer.
         for (int i = 1; i < hashtag.length(); i++) {
             char ch = hashtag.charAt(i);
-            if (Character.isDigit(ch)) {
-                encoded *= hashtagLetterCount;
-                encoded += Character.digit(ch, 10);
-            } else if (Character.isAlphabetic(ch)) {
-                encoded *= hashtagLetterCount;
-                encoded += ((int) ch) - ((int) 'A') + 10;
-            } else // illegal letter
+            int digit;
+            if ('0' <= ch && ch <= '9')
+                digit = ch - '0';
+            else if ('A' <= ch && ch <= 'Z')
+                digit = ch - 'A' + 10;
+            else // illegal letter
                 return "Invalid hashtag input: illegal letter$$";
+            encoded = encoded.multiply(hashtagLetterCount).add(BigInteger.valueOf(digit));
         }
         /* Retrieve details from decoded base-radix(29) integer. */
-        // Retrieve word length.
-        long hashtagWordLength = encoded % radix;
-        encoded /= radix;
+        // Retrieve word length and mode.
+        BigInteger[] quotientAndDigit = encoded.divideAndRemainder(radix);
+        int lengthDigit = quotientAndDigit[1].intValue();
+        int hashtagWordLength = lengthDigit % HASHTAG_HARD_MODE;
+        boolean hashtagHardMode = HASHTAG_HARD_MODE <= lengthDigit && lengthDigit < HASHTAG_MULTI_BOARD;
+        boolean multiBoard = lengthDigit >= HASHTAG_MULTI_BOARD;
         // Retrieve word source.
-        int hashtagWordSource = (int) (encoded % radix);
+        quotientAndDigit = quotientAndDigit[0].divideAndRemainder(radix);
+        int hashtagWordSource = quotientAndDigit[1].intValue();
         if (!(0 < hashtagWordSource && hashtagWordSource <= Settings.wordSourceOptions.length))
             return "Invalid hashtag input: illegal word source option$$";
         String hashtagWordSourceStr = Settings.wordSourceOptions[hashtagWordSource - 1];
-        encoded /= radix;
-        // Retrieve Wordle word.
-        StringBuilder hashtagWord = new StringBuilder();
-        for (int i = 0; i < hashtagWordLength; i++) {
-            long currentDigit = encoded % radix;
-            encoded /= radix;
-            if (0 <= currentDigit && currentDigit < 26)
-                hashtagWord.append((char) (currentDigit + (int) 'A'));
-            else
-                return "Invalid hashtag input: illegal word letter$$";
+        // Retrieve number of boards.
+        int hashtagBoardCount = 1;
+        if (multiBoard) {
+            quotientAndDigit = quotientAndDigit[0].divideAndRemainder(radix);
+            hashtagBoardCount = quotientAndDigit[1].intValue();
+            if (hashtagBoardCount == 1) {
+                if (Service.getInstance().getCandidateWords(hashtagWordLength, hashtagWordSourceStr).length == 0)
+                    return "Invalid hashtag input: No trobat$$";
+                return "$" + GameRound.absurdleWord(hashtagWordLength) + "$" + hashtagWordSource + "$false";
+            }
+            if (!Arrays.asList(GAME_MODE_OPTIONS).contains(hashtagBoardCount + " taulers"))
+                return "Invalid hashtag input: illegal board count$$";
         }
-        // Check decoded result in Service.
-        String hashtagCheckResult = Service.getInstance().checkExistence(hashtagWord.toString(), hashtagWordSourceStr);
-        if (hashtagCheckResult.length() == 0) {
-            return "$" + hashtagWord + "$" + hashtagWordSource;
+        // Retrieve Wordle words.
+        StringBuilder hashtagWords = new StringBuilder();
+        for (int word = 0; word < hashtagBoardCount; word++) {
+            StringBuilder hashtagWord = new StringBuilder();
+            for (int i = 0; i < hashtagWordLength; i++) {
+                quotientAndDigit = quotientAndDigit[0].divideAndRemainder(radix);
+                int currentDigit = quotientAndDigit[1].intValue();
+                if (0 <= currentDigit && currentDigit < 26)
+                    hashtagWord.append((char) (currentDigit + (int) 'A'));
+                else
+                    return "Invalid hashtag input: illegal word letter$$";
+            }
+            // Check decoded result in Service.
+            String hashtagCheckResult = Service.getInstance().checkExistence(hashtagWord.toString(),
+                    hashtagWordSourceStr);
+            if (hashtagCheckResult.length() != 0)
+                return "Invalid hashtag input: " + hashtagCheckResult + "$$";
+            if (("," + hashtagWords + ",").contains("," + hashtagWord + ","))
+                return "Invalid hashtag input: repeated word$$";
+            hashtagWords.append(word == 0 ? "" : ",").append(hashtagWord);
         }
-        return "Invalid hashtag input: " + hashtagCheckResult + "$$";
+        return "$" + hashtagWords + "$" + hashtagWordSource + "$" + hashtagHardMode;
     }
 
     /**
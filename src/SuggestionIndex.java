@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The {@code SuggestionIndex} class stores the words of one word source and one word length by their deletion
+ * neighbourhood, so that the words near a misspelled one are found by looking up a few keys instead of measuring the
+ * distance to every word.
+ *
+ * <p>
+ * Every word is accent-folded first, and each form obtained by deleting one of its letters is hashed. Two words of
+ * the same length sharing such a form differ by one substitution (delete the same position), one adjacent
+ * transposition (delete either letter swapped) or only by accents, which are the usual typos. A lookup hashes the
+ * deletions of the word typed, collects the words stored under them by binary search, and measures only those.
+ *
+ * <p>
+ * Like {@link Dawg}, the index is kept in primitive arrays, where each entry packs the hash of a deletion and the id
+ * of the word into a long sorted increasingly.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class SuggestionIndex {
+    /**
+     * The {@code MatchSink} interface receives the words found by {@link SuggestionIndex#search(String, MatchSink)}.
+     */
+    public interface MatchSink {
+        /**
+         * This method receives one word found.
+         *
+         * @param id       an int describing the order of the word in the words given to the index.
+         * @param word     an uppercase String stored in the index.
+         * @param distance an int describing the edit distance of the accent-folded forms, from 0 to 2.
+         */
+        void accept(int id, String word, int distance);
+    }
+
+    /**
+     * A String array holding the words by id.
+     */
+    private final String[] words;
+
+    /**
+     * A char array of arrays holding the accent-folded form of each word by id.
+     */
+    private final char[][] keys;
+
+    /**
+     * A long array holding the hash of a deletion in the high half and the id of its word in the low half, sorted
+     * increasingly.
+     */
+    private final long[] entries;
+
+    /**
+     * The only constructor for class {@code SuggestionIndex}.
+     *
+     * @param words a Collection of distinct uppercase words.
+     */
+    public SuggestionIndex(Collection<String> words) {
+        this.words = words.toArray(new String[0]);
+        keys = new char[this.words.length][];
+        int entryCount = 0;
+        for (int id = 0; id < keys.length; id++) {
+            keys[id] = fold(this.words[id]).toCharArray();
+            entryCount += keys[id].length;
+        }
+        entries = new long[entryCount];
+        int index = 0;
+        for (int id = 0; id < keys.length; id++)
+            for (int skip = 0; skip < keys[id].length; skip++)
+                entries[index++] = (long) deletionHash(keys[id], skip) << 32 | id;
+        Arrays.sort(entries);
+    }
+
+    /**
+     * This static method returns the word given without accents, diaeresis, cedillas and middle dots, e.g. "COL·LÈGI"
+     * becomes "COLLEGI".
+     *
+     * @param word a String to be folded.
+     * @return a String holding the letters of <var>word</var> without marks.
+     */
+    public static String fold(String word) {
+        String decomposed = Normalizer.normalize(word, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char ch = decomposed.charAt(i);
+            if (Character.getType(ch) != Character.NON_SPACING_MARK && ch != '·')
+                folded.append(ch);
+        }
+        return folded.toString();
+    }
+
+    /**
+     * This static method returns the hash of the key given without the letter at <var>skip</var>.
+     *
+     * @param key  a char array holding an accent-folded word.
+     * @param skip an int describing the position deleted.
+     * @return an int describing the hash.
+     */
+    private static int deletionHash(char[] key, int skip) {
+        int hash = key.length;
+        for (int i = 0; i < key.length; i++)
+            if (i != skip)
+                hash = hash * 31 + key[i];
+        // Spread the bits, as consecutive words differ only in their last letters.
+        hash *= 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * This static method returns the edit distance (insertions, deletions and substitutions) between two words.
+     *
+     * @param a a char array holding the first word.
+     * @param b a char array holding the second word.
+     * @return an int describing the distance, which is at most the length of the longer word.
+     */
+    static int distance(char[] a, char[] b) {
+        int[] previous = new int[b.length + 1];
+        int[] current = new int[b.length + 1];
+        for (int j = 0; j <= b.length; j++)
+            previous[j] = j;
+        for (int i = 1; i <= a.length; i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length; j++)
+                current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1,
+                        previous[j - 1] + (a[i - 1] == b[j - 1] ? 0 : 1));
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length];
+    }
+
+    /**
+     * This method passes every word sharing a deletion with <var>word</var> to <var>sink</var> once, in the order of
+     * ids, with the edit distance of their accent-folded forms.
+     *
+     * @param word an uppercase String to be looked up.
+     * @param sink a {@code MatchSink} receiving the words found and their distances.
+     * @return an int describing the number of distances measured.
+     */
+    public int search(String word, MatchSink sink) {
+        char[] key = fold(word).toCharArray();
+        int[] candidates = new int[16];
+        int candidateCount = 0;
+        for (int skip = 0; skip < key.length; skip++) {
+            long hash = (long) deletionHash(key, skip) << 32;
+            // Find the first entry of the hash, whose id is at least 0.
+            int low = 0, high = entries.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries[middle] < hash)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            for (int i = low; i < entries.length && (entries[i] & 0xFFFFFFFF00000000L) == hash; i++) {
+                if (candidateCount == candidates.length)
+                    candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                candidates[candidateCount++] = (int) entries[i];
+            }
+        }
+        Arrays.sort(candidates, 0, candidateCount);
+        int measured = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int id = candidates[i];
+            if (i > 0 && id == candidates[i - 1])
+                continue;
+            int distance = distance(key, keys[id]);
+            measured++;
+            // Distinct deletions may share a hash, which only costs one more distance.
+            if (distance <= 2)
+                sink.accept(id, words[id], distance);
+        }
+        return measured;
+    }
+
+    /**
+     * Returns the number of words stored.
+     *
+     * @return an int describing the number of words stored.
+     */
+    public int size() {
+        return words.length;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The {@code TopWords} class keeps the best words of a stream by their {@link LetterFrequency} score in a bounded
+ * binary min-heap, counting every word received, so that only the best ones are kept and sorted however many words
+ * are matched.
+ *
+ * <p>
+ * The heap is kept in two parallel arrays, where the root is the worst word kept. A word enters only if it beats the
+ * root, so most words of a large result are rejected by one score and one comparison.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class TopWords implements Consumer<String> {
+    /**
+     * A {@code LetterFrequency} scoring every word received.
+     */
+    private final LetterFrequency frequency;
+
+    /**
+     * A String array holding the words kept as a heap.
+     */
+    private final String[] words;
+
+    /**
+     * A long array holding the score of each word kept.
+     */
+    private final long[] scores;
+
+    /**
+     * An int holding the number of words kept.
+     */
+    private int size = 0;
+
+    /**
+     * An int holding the number of words received.
+     */
+    private int total = 0;
+
+    /**
+     * The only constructor for class {@code TopWords}.
+     *
+     * @param frequency a {@code LetterFrequency} of the word source and word length of the words received.
+     * @param capacity  an int describing the maximum number of words kept.
+     */
+    public TopWords(LetterFrequency frequency, int capacity) {
+        this.frequency = frequency;
+        this.words = new String[capacity];
+        this.scores = new long[capacity];
+    }
+
+    /**
+     * This method counts the word given and keeps it if it is among the best words received so far.
+     *
+     * @param word an uppercase String.
+     */
+    @Override
+    public void accept(String word) {
+        total++;
+        long score = frequency.score(word);
+        if (size < words.length) {
+            words[size] = word;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (words.length > 0 && isWorse(words[0], scores[0], word, score)) {
+            words[0] = word;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * This static method returns whether the first word ranks after the second one, where a higher score ranks
+     * first and ties rank alphabetically.
+     */
+    private static boolean isWorse(String word, long score, String otherWord, long otherScore) {
+        return score != otherScore ? score < otherScore : word.compareTo(otherWord) > 0;
+    }
+
+    /**
+     * This method moves the word at <var>index</var> up until its parent is worse.
+     */
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isWorse(words[index], scores[index], words[parent], scores[parent]))
+                break;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    /**
+     * This method moves the word at <var>index</var> down until both of its children are better.
+     */
+    private void siftDown(int index) {
+        while (true) {
+            int worst = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++)
+                if (isWorse(words[child], scores[child], words[worst], scores[worst]))
+                    worst = child;
+            if (worst == index)
+                return;
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    /**
+     * This method swaps two words of the heap with their scores.
+     */
+    private void swap(int i, int j) {
+        String word = words[i];
+        words[i] = words[j];
+        words[j] = word;
+        long score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    /**
+     * Returns the words kept from the best to the worst.
+     *
+     * @return a String array holding at most the capacity given of words.
+     */
+    public String[] getBest() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++)
+            order[i] = i;
+        Arrays.sort(order, (i, j) -> isWorse(words[i], scores[i], words[j], scores[j]) ? 1 :
+                isWorse(words[j], scores[j], words[i], scores[i]) ? -1 : 0);
+        String[] best = new String[size];
+        for (int i = 0; i < size; i++)
+            best[i] = words[order[i]];
+        return best;
+    }
+
+    /**
+     * Returns the number of words received.
+     *
+     * @return an int describing the number of words matched, including the words not kept.
+     */
+    public int getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code WordCsvParser} class reads word source files in the "word,difficulty" format as UTF-8 bytes, without
+ * decoding lines nor splitting them into strings.
+ *
+ * <p>
+ * The file is memory-mapped and scanned byte by byte for commas and line ends. Each word is decoded and uppercased
+ * into a reused char buffer (through a table for ASCII and Latin-1 letters), the difficulty digits are parsed inline,
+ * and the word is interned from the buffer by {@link WordTable#intern(char[], int)}, so that a word already loaded by
+ * another source allocates nothing. Files larger than {@link WordCsvParser#PARALLEL_THRESHOLD} are split at line ends
+ * and parsed in parallel, while rows are still passed in file order.
+ *
+ * <p>
+ * Rows are skipped, as before, unless they hold exactly one comma and an integer difficulty, which skips the header.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class WordCsvParser {
+    /**
+     * The {@code RowSink} interface receives the rows parsed in file order.
+     */
+    public interface RowSink {
+        /**
+         * This method receives one row.
+         *
+         * @param word       an uppercase canonical String from the {@code WordTable} given.
+         * @param difficulty an int describing the difficulty of <var>word</var>.
+         */
+        void accept(String word, int difficulty);
+    }
+
+    /**
+     * A static constant holding the file size from which chunks are parsed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    /**
+     * A static constant char array holding the uppercase of each char below 256, which covers the Catalan letters.
+     */
+    private static final char[] UPPER = new char[256];
+
+    static {
+        for (char c = 0; c < UPPER.length; c++)
+            UPPER[c] = Character.toUpperCase(c);
+    }
+
+    /**
+     * The {@code Chunk} class holds the rows of one chunk until they are passed in file order.
+     */
+    private static class Chunk {
+        /**
+         * An {@code ArrayList} holding the words of the rows.
+         */
+        final ArrayList<String> words = new ArrayList<>();
+
+        /**
+         * An int array holding the difficulty of each row.
+         */
+        int[] difficulties = new int[64];
+    }
+
+    /**
+     * This static method parses the file given and passes every valid row with a word length in range to
+     * <var>sink</var>, in file order.
+     *
+     * @param file      a {@code Path} of a UTF-8 CSV file.
+     * @param minLength an int describing the minimum word length kept.
+     * @param maxLength an int describing the maximum word length kept.
+     * @param wordTable a {@code WordTable} interning the words.
+     * @param sink      a {@code RowSink} receiving the rows kept.
+     * @throws IOException if the file cannot be read.
+     */
+    public static void parse(Path file, int minLength, int maxLength, WordTable wordTable, RowSink sink)
+            throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int size = buffer.limit();
+        // Skip the byte order mark, if any.
+        int start = size >= 3 && (buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB &&
+                (buffer.get(2) & 0xFF) == 0xBF ? 3 : 0;
+        if (size - start < PARALLEL_THRESHOLD) {
+            parse(buffer, start, size, minLength, maxLength, wordTable, sink);
+            return;
+        }
+        // Split right after line ends, so that no row is split.
+        int chunkCount = Runtime.getRuntime().availableProcessors() * 4;
+        int[] bounds = new int[chunkCount + 1];
+        bounds[0] = start;
+        for (int i = 1; i < chunkCount; i++) {
+            int bound = Math.max(bounds[i - 1], start + (int) ((long) (size - start) * i / chunkCount));
+            while (bound < size && buffer.get(bound - 1) != '\n')
+                bound++;
+            bounds[i] = bound;
+        }
+        bounds[chunkCount] = size;
+        List<Chunk> chunks = IntStream.range(0, chunkCount).parallel().mapToObj(i -> {
+            Chunk chunk = new Chunk();
+            parse(buffer.duplicate(), bounds[i], bounds[i + 1], minLength, maxLength, wordTable, (word, difficulty) -> {
+                if (chunk.words.size() == chunk.difficulties.length)
+                    chunk.difficulties = Arrays.copyOf(chunk.difficulties, chunk.difficulties.length * 2);
+                chunk.difficulties[chunk.words.size()] = difficulty;
+                chunk.words.add(word);
+            });
+            return chunk;
+        }).collect(Collectors.toList());
+        for (Chunk chunk : chunks)
+            for (int i = 0; i < chunk.words.size(); i++)
+                sink.accept(chunk.words.get(i), chunk.difficulties[i]);
+    }
+
+    /**
+     * This static method parses the rows from <var>start</var> (the beginning of a row) to <var>end</var>.
+     */
+    private static void parse(ByteBuffer buffer, int start, int end, int minLength, int maxLength,
+                              WordTable wordTable, RowSink sink) {
+        char[] word = new char[64];
+        int position = start;
+        while (position < end) {
+            // Decode the word until the first comma.
+            int length = 0;
+            boolean valid = true;
+            byte b = 0;
+            while (position < end && (b = buffer.get(position)) != ',' && b != '\n') {
+                int codePoint;
+                if (b >= 0) {
+                    codePoint = b;
+                    position++;
+                } else if ((b & 0xE0) == 0xC0 && position + 1 < end) {
+                    codePoint = (b & 0x1F) << 6 | buffer.get(position + 1) & 0x3F;
+                    position += 2;
+                } else if ((b & 0xF0) == 0xE0 && position + 2 < end) {
+                    codePoint = (b & 0x0F) << 12 | (buffer.get(position + 1) & 0x3F) << 6 |
+                            buffer.get(position + 2) & 0x3F;
+                    position += 3;
+                } else {
+                    // Four-byte or malformed sequences never appear in a word.
+                    valid = false;
+                    position++;
+                    continue;
+                }
+                if (length == word.length)
+                    word = Arrays.copyOf(word, length * 2);
+                word[length++] = codePoint < UPPER.length ? UPPER[codePoint] : Character.toUpperCase((char) codePoint);
+            }
+            if (position >= end || b == '\n') {
+                position++;
+                continue;
+            }
+            // Parse the difficulty until the line end, allowing spaces and a sign as Integer.parseInt after trim.
+            position++;
+            int difficulty = 0;
+            int digits = 0;
+            boolean negative = false;
+            byte previous = ',';
+            while (position < end && (b = buffer.get(position)) != '\n') {
+                boolean isDigit = '0' <= b && b <= '9';
+                // Digits must be contiguous, e.g. "1 2" is rejected.
+                if (isDigit && digits < 9 && (digits == 0 || '0' <= previous && previous <= '9')) {
+                    difficulty = difficulty * 10 + (b - '0');
+                    digits++;
+                } else if ((b == '-' || b == '+') && digits == 0 && !negative)
+                    negative = b == '-';
+                else if (isDigit || b != ' ' && b != '\r' && b != '\t')
+                    valid = false;
+                previous = b;
+                position++;
+            }
+            position++;
+            if (!valid || digits == 0 || length < minLength || length > maxLength)
+                continue;
+            sink.accept(wordTable.intern(word, length), negative ? -difficulty : difficulty);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code WordList} class lists words as the int IDs of a {@code WordTable}, so that the word lists of every word
+ * source refer to the only instance of each word, and hold no reference for the garbage collector to trace.
+ *
+ * <p>
+ * Words are added while a word source is loaded, and the list is never modified once the word source is published,
+ * so it may then be read from any thread.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class WordList implements Iterable<String> {
+    /**
+     * A {@code WordTable} holding the words of the IDs listed.
+     */
+    private final WordTable wordTable;
+
+    /**
+     * An int array holding the ID of each word in the order added.
+     */
+    private int[] ids = new int[16];
+
+    /**
+     * An int holding the number of words listed.
+     */
+    private int size = 0;
+
+    /**
+     * The only constructor for class {@code WordList}.
+     *
+     * @param wordTable a {@code WordTable} numbering the words added.
+     */
+    public WordList(WordTable wordTable) {
+        this.wordTable = wordTable;
+    }
+
+    /**
+     * This method adds the word given at the end of the list, interning it if it is new.
+     *
+     * @param word a String to be added.
+     */
+    public void add(String word) {
+        addId(wordTable.idOf(word));
+    }
+
+    /**
+     * This method adds the word at the given index of another list at the end of this list, copying its ID if both
+     * lists share the same word table.
+     *
+     * @param other a {@code WordList} holding the word.
+     * @param index an int describing the index of the word in <var>other</var>.
+     */
+    public void add(WordList other, int index) {
+        if (index >= other.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + other.size);
+        if (other.wordTable == wordTable)
+            addId(other.ids[index]);
+        else
+            add(other.get(index));
+    }
+
+    /**
+     * This method adds an ID of {@link WordList#wordTable} at the end of the list.
+     */
+    private void addId(int id) {
+        if (size == ids.length)
+            ids = Arrays.copyOf(ids, size + (size >> 1));
+        ids[size++] = id;
+    }
+
+    /**
+     * Returns the word at the given index.
+     *
+     * @param index an int describing the index, counting from zero.
+     * @return the canonical instance of the word.
+     */
+    public String get(int index) {
+        if (index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return wordTable.wordOf(ids[index]);
+    }
+
+    /**
+     * Returns the number of words listed.
+     *
+     * @return an int describing the size of the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether no word is listed.
+     *
+     * @return true if the list is empty, or false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the words listed in order.
+     *
+     * @return a new String array holding every word listed.
+     */
+    public String[] toArray() {
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++)
+            words[i] = wordTable.wordOf(ids[i]);
+        return words;
+    }
+
+    /**
+     * Returns an iterator over the words listed in order.
+     *
+     * @return an {@code Iterator} of the words.
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public String next() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                return wordTable.wordOf(ids[index++]);
+            }
+        };
+    }
+}
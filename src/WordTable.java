@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Mingchun Zhuang (http://me.mczhuang.cn)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.THE
+ * SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import java.util.Arrays;
+
+/**
+ * The {@code WordTable} class interns every distinct word loaded by any word source, so that the same word read from
+ * several files is stored once in memory, and numbers it with an int ID, so that word sources can list their words as
+ * IDs, see {@link WordList}.
+ *
+ * <p>
+ * Words are kept in a growable array indexed by ID, and found through an open-addressing table of IDs with linear
+ * probing, so that no entry object is allocated per word. Words are only added under the lock of the table, since
+ * word sources may be loaded in the background while other sources are queried, and IDs already handed out are read
+ * without locking, since the array only grows and a word never changes its ID.
+ *
+ * @author Mingchun Zhuang
+ * @version 1.0
+ */
+public class WordTable {
+    /**
+     * A String array holding the canonical words by ID, which is replaced by a longer copy when full.
+     */
+    private volatile String[] words = new String[1024];
+
+    /**
+     * An int array holding the ID plus one of the word in each slot, where 0 is for an empty slot.
+     */
+    private int[] slots = new int[2048];
+
+    /**
+     * An int holding the number of distinct words.
+     */
+    private int size = 0;
+
+    /**
+     * Returns the canonical instance of the word given, adding it to the table if it is new.
+     *
+     * @param word a String to be interned.
+     * @return a String equal to <var>word</var>, which is the same instance for every equal word interned.
+     */
+    public String intern(String word) {
+        return wordOf(idOf(word));
+    }
+
+    /**
+     * Returns the ID of the word given, adding it to the table if it is new.
+     *
+     * @param word a String to be interned.
+     * @return an int describing the ID of <var>word</var>, which is the same for every equal word interned.
+     */
+    public synchronized int idOf(String word) {
+        int slot = find(word);
+        if (slots[slot] != 0)
+            return slots[slot] - 1;
+        String[] current = words;
+        if (size == current.length)
+            current = Arrays.copyOf(current, size * 2);
+        current[size++] = word;
+        words = current;
+        slots[slot] = size;
+        // Keep the load factor at most one half.
+        if (size * 2 > slots.length)
+            rehash();
+        return size - 1;
+    }
+
+    /**
+     * Returns the canonical instance of the word with the ID given, which is safe to call from any thread that got the
+     * ID.
+     *
+     * @param id an int describing an ID returned by {@link WordTable#idOf(String)}.
+     * @return the canonical instance of the word.
+     */
+    public String wordOf(int id) {
+        return words[id];
+    }
+
+    /**
+     * Returns the canonical instance of the word held in the chars given, creating a String only if the word is new.
+     *
+     * @param chars  a char array holding the word from index 0.
+     * @param length an int describing the length of the word.
+     * @return a String equal to the word, which is the same instance for every equal word interned.
+     */
+    public synchronized String intern(char[] chars, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++)
+            hash = 31 * hash + chars[i];
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+        for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+            String word = words[slots[slot] - 1];
+            if (word.length() != length)
+                continue;
+            int i = 0;
+            while (i < length && word.charAt(i) == chars[i])
+                i++;
+            if (i == length)
+                return word;
+        }
+        return intern(new String(chars, 0, length));
+    }
+
+    /**
+     * Returns the slot of the word given, or the empty slot where it should be added.
+     */
+    private int find(String word) {
+        int mask = slots.length - 1;
+        int slot = mix(word.hashCode()) & mask;
+        while (slots[slot] != 0 && !words[slots[slot] - 1].equals(word))
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /**
+     * This method doubles the slots and inserts every word again.
+     */
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = mix(words[index].hashCode()) & mask;
+            while (slots[slot] != 0)
+                slot = (slot + 1) & mask;
+            slots[slot] = index + 1;
+        }
+    }
+
+    /**
+     * This static method spreads the bits of a hash code, since String hash codes of similar words differ mostly in
+     * their lowest bits.
+     */
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+}
@@ -19,6 +19,9 @@
  * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  */
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * The {@code eWordle} class stores the default settings and launch the game.
  *
@@ -47,17 +50,50 @@ public class eWordle {
             "Futbolistes", "Informàtica", "Tot"};
 
     /**
-     * This method launches the <var>setting</var> window with default setting and initialize <var>service</var>.
+     * This method launches the <var>setting</var> window with default setting and initialize <var>service</var> in
+     * the background, where the word source selected is loaded first.
      *
      * @param args a default String array which is not used by this program.
      */
     public static void main(String[] args) {
         Settings.getInstance().configSettings(5, "Català", wordLengths, wordSources);
-        String initResult = Service.getInstance().initService(wordSources, wordLengths);
-        if (initResult.length() > 0) {
-            System.out.println("Error durant la inicialització:" + initResult);
-            return;
-        }
         Settings.getInstance().setVisibleStatus(true);
+        Service.getInstance().initServiceInBackground(wordSources, wordLengths, Settings.getWordSource(),
+                (wordSource, initResult) -> Settings.getInstance().sourceLoaded(wordSource, initResult));
+    }
+
+    /**
+     * A static constant holding the system property that overrides the directory where preferences and caches are
+     * kept across sessions.
+     */
+    public static final String DATA_DIRECTORY_PROPERTY = "eWordle.home";
+
+    /**
+     * Returns the directory where preferences and caches are kept across sessions, which is {@code ~/.ewordle}
+     * unless overridden by {@link eWordle#DATA_DIRECTORY_PROPERTY}. The directory may not exist yet.
+     *
+     * @return a {@code Path} of the data directory.
+     */
+    public static Path getDataDirectory() {
+        String directory = System.getProperty(DATA_DIRECTORY_PROPERTY);
+        return directory != null ? Paths.get(directory) : Paths.get(System.getProperty("user.home"), ".ewordle");
+    }
+
+    /**
+     * Returns a copy of the default word length options, which are shared by the headless tools.
+     *
+     * @return a String array containing word lengths ordered increasingly.
+     */
+    public static String[] getWordLengths() {
+        return wordLengths.clone();
+    }
+
+    /**
+     * Returns a copy of the default word source options, which are shared by the headless tools.
+     *
+     * @return a String array containing word sources ordered by difficulty increasingly.
+     */
+    public static String[] getWordSources() {
+        return wordSources.clone();
     }
 }